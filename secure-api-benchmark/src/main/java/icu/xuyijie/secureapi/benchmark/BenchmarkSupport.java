@@ -0,0 +1,56 @@
+package icu.xuyijie.secureapi.benchmark;
+
+import icu.xuyijie.secureapi.cipher.enums.CipherAlgorithmEnum;
+import icu.xuyijie.secureapi.model.SecureApiProperties;
+import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+
+import java.util.Random;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 19:10
+ * @description 基准测试公共方法
+ */
+final class BenchmarkSupport {
+    private BenchmarkSupport() {
+
+    }
+
+    /**
+     * 固定随机种子，保证每次运行、每个版本测试的数据相同，结果之间才有可比性
+     */
+    private static final long SEED = 20261018L;
+
+    private static final byte[] ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".getBytes();
+
+    /**
+     * 创建 COMMON 模式的配置，并生成对应算法的随机密钥
+     *
+     * @param cipherAlgorithmEnum 加密算法
+     * @return 配置
+     */
+    static SecureApiPropertiesConfig newConfig(CipherAlgorithmEnum cipherAlgorithmEnum) {
+        SecureApiPropertiesConfig secureApiPropertiesConfig = new SecureApiPropertiesConfig();
+        secureApiPropertiesConfig.setEnabled(true);
+        secureApiPropertiesConfig.setShowLog(false);
+        secureApiPropertiesConfig.setMode(SecureApiProperties.Mode.COMMON);
+        secureApiPropertiesConfig.setCipherAlgorithmEnum(cipherAlgorithmEnum);
+        cipherAlgorithmEnum.generateKeyIfAbsent(secureApiPropertiesConfig);
+        return secureApiPropertiesConfig;
+    }
+
+    /**
+     * 生成指定长度的明文，只包含字母和数字，和接口中常见的 json 文本接近
+     *
+     * @param size 字节数
+     * @return 明文
+     */
+    static byte[] randomPayload(int size) {
+        Random random = new Random(SEED);
+        byte[] payload = new byte[size];
+        for (int i = 0; i < size; i++) {
+            payload[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return payload;
+    }
+}
@@ -0,0 +1,53 @@
+package icu.xuyijie.secureapi.benchmark;
+
+import icu.xuyijie.secureapi.cipher.enums.CipherAlgorithmEnum;
+import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 19:10
+ * @description 对称加密算法加解密基准测试，覆盖 100B 到 10MB 的数据，RSA 算法见 RsaBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CipherAlgorithmBenchmark {
+    @Param({
+            "AES_CBC_NO_PADDING", "AES_CBC_PKCS5", "AES_ECB_NO_PADDING", "AES_ECB_PKCS5",
+            "DES_CBC_NO_PADDING", "DES_CBC_PKCS5", "DES_ECB_NO_PADDING", "DES_ECB_PKCS5",
+            "DES_EDE_CBC_NO_PADDING", "DES_EDE_CBC_PKCS5", "DES_EDE_ECB_NO_PADDING", "DES_EDE_ECB_PKCS5",
+            "SM4_CBC_NO_PADDING", "SM4_CBC_PKCS5", "SM4_ECB_NO_PADDING", "SM4_ECB_PKCS5",
+            "AES_GCM_NO_PADDING", "CHACHA20_POLY1305", "SM4_GCM_NO_PADDING"
+    })
+    private CipherAlgorithmEnum algorithm;
+
+    @Param({"100", "1024", "102400", "1048576", "10485760"})
+    private int payloadSize;
+
+    private SecureApiPropertiesConfig secureApiPropertiesConfig;
+    private byte[] plainBytes;
+    private byte[] cipherBytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        secureApiPropertiesConfig = BenchmarkSupport.newConfig(algorithm);
+        plainBytes = BenchmarkSupport.randomPayload(payloadSize);
+        cipherBytes = algorithm.encrypt(plainBytes, secureApiPropertiesConfig);
+    }
+
+    @Benchmark
+    public byte[] encrypt() {
+        return algorithm.encrypt(plainBytes, secureApiPropertiesConfig);
+    }
+
+    @Benchmark
+    public byte[] decrypt() {
+        return algorithm.decrypt(cipherBytes, secureApiPropertiesConfig);
+    }
+}
@@ -0,0 +1,150 @@
+package icu.xuyijie.secureapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import icu.xuyijie.secureapi.cipher.enums.CipherAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.enums.CompressAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.utils.RsaSignatureUtils;
+import icu.xuyijie.secureapi.config.ObjectMapperConfig;
+import icu.xuyijie.secureapi.handler.SecureApiResponseHandler;
+import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 19:10
+ * @description 接口返回值加密基准测试，包含 json 序列化、加密的完整过程，分别测试加密整个返回体和只加密 responseBodyDataField 字段，以及字段级加密和加密前压缩的影响
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseHandlerBenchmark {
+    /**
+     * 每条数据序列化后大约 100 字节
+     */
+    private static final int ITEM_SIZE = 100;
+
+    @Param({"AES_CBC_PKCS5", "SM4_CBC_PKCS5"})
+    private CipherAlgorithmEnum algorithm;
+
+    /**
+     * 返回体 json 的大致字节数
+     */
+    @Param({"100", "1024", "102400", "1048576", "10485760"})
+    private int payloadSize;
+
+    /**
+     * 空字符串表示不配置 responseBodyDataField，加密整个返回体
+     */
+    @Param({"", "data"})
+    private String responseBodyDataField;
+
+    /**
+     * MAP 返回 Map，配置 responseBodyDataField 时使用 readTree 的方式；BEAN 返回实体类，配置 responseBodyDataField 时使用字段级加密
+     */
+    @Param({"MAP", "BEAN"})
+    private String bodyType;
+
+    /**
+     * 空字符串表示不开启加密前压缩
+     */
+    @Param({"", "GZIP", "DEFLATE"})
+    private String compressAlgorithm;
+
+    private SecureApiResponseHandler secureApiResponseHandler;
+    private Object body;
+    private MethodParameter returnType;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchMethodException {
+        SecureApiPropertiesConfig secureApiPropertiesConfig = BenchmarkSupport.newConfig(algorithm);
+        secureApiPropertiesConfig.setResponseBodyDataField(StringUtils.hasText(responseBodyDataField) ? responseBodyDataField : null);
+        if (StringUtils.hasText(compressAlgorithm)) {
+            secureApiPropertiesConfig.setCompressEnabled(true);
+            secureApiPropertiesConfig.setCompressAlgorithm(CompressAlgorithmEnum.valueOf(compressAlgorithm));
+        }
+        ObjectMapper secureApiObjectMapper = new ObjectMapperConfig(secureApiPropertiesConfig, Jackson2ObjectMapperBuilder.json()).myObjectMapper();
+        secureApiResponseHandler = new SecureApiResponseHandler(secureApiPropertiesConfig, secureApiObjectMapper, new RsaSignatureUtils(secureApiPropertiesConfig));
+        body = "BEAN".equals(bodyType) ? new Result(createBody(payloadSize)) : createBody(payloadSize);
+        returnType = new MethodParameter(ResponseHandlerBenchmark.class.getDeclaredMethod("controllerMethod"), -1);
+    }
+
+    @Benchmark
+    public Object beforeBodyWrite(Exchange exchange) {
+        return secureApiResponseHandler.beforeBodyWrite(body, returnType, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class, exchange.request, exchange.response);
+    }
+
+    /**
+     * 模拟的接口方法，只用于构造 MethodParameter
+     */
+    public Object controllerMethod() {
+        return body;
+    }
+
+    /**
+     * 请求和响应会被写入响应头和响应体，不是线程安全的，每个线程使用自己的实例，每轮迭代重新创建，避免响应头和响应体无限增长
+     */
+    @State(Scope.Thread)
+    public static class Exchange {
+        private ServerHttpRequest request;
+        private ServerHttpResponse response;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            request = new ServletServerHttpRequest(new MockHttpServletRequest());
+            response = new ServletServerHttpResponse(new MockHttpServletResponse());
+        }
+    }
+
+    /**
+     * 和 createBody 结构相同的实体类返回值
+     */
+    public static class Result {
+        public Object code;
+        public Object msg;
+        public Object data;
+
+        Result(Map<String, Object> body) {
+            this.code = body.get("code");
+            this.msg = body.get("msg");
+            this.data = body.get("data");
+        }
+    }
+
+    private static Map<String, Object> createBody(int payloadSize) {
+        String description = new String(BenchmarkSupport.randomPayload(ITEM_SIZE / 2));
+        int itemCount = Math.max(1, payloadSize / ITEM_SIZE);
+        List<Map<String, Object>> data = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "user" + i);
+            item.put("description", description);
+            data.add(item);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("code", 200);
+        result.put("msg", "success");
+        result.put("data", data);
+        return result;
+    }
+}
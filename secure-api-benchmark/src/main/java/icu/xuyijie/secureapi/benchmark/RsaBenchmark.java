@@ -0,0 +1,64 @@
+package icu.xuyijie.secureapi.benchmark;
+
+import icu.xuyijie.secureapi.cipher.enums.CipherAlgorithmEnum;
+import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 19:10
+ * @description RSA 加解密基准测试，超过 190 字节的明文会分段加密，
+ * 分段数量随数据量线性增长，私钥解密 10MB 数据需要数十秒，所以数据量最大只测到 100KB；
+ * envelopeEncrypt、envelopeDecrypt 是同样数据使用信封模式（AES_GCM_NO_PADDING 加密数据）的对比
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RsaBenchmark {
+    @Param({"RSA_ECB_PKCS1", "RSA_ECB_SHA1", "RSA_ECB_SHA256"})
+    private CipherAlgorithmEnum algorithm;
+
+    /**
+     * 190 是不分段的最大长度
+     */
+    @Param({"100", "190", "1024", "10240", "102400"})
+    private int payloadSize;
+
+    private SecureApiPropertiesConfig secureApiPropertiesConfig;
+    private byte[] plainBytes;
+    private byte[] cipherBytes;
+    private byte[] envelopeCipherBytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        secureApiPropertiesConfig = BenchmarkSupport.newConfig(algorithm);
+        plainBytes = BenchmarkSupport.randomPayload(payloadSize);
+        cipherBytes = algorithm.encrypt(plainBytes, secureApiPropertiesConfig);
+        envelopeCipherBytes = envelopeEncrypt();
+    }
+
+    @Benchmark
+    public byte[] encrypt() {
+        return algorithm.encrypt(plainBytes, secureApiPropertiesConfig);
+    }
+
+    @Benchmark
+    public byte[] decrypt() {
+        return algorithm.decrypt(cipherBytes, secureApiPropertiesConfig);
+    }
+
+    @Benchmark
+    public byte[] envelopeEncrypt() {
+        return algorithm.encryptEnvelope(plainBytes, secureApiPropertiesConfig.getPublicKey(), CipherAlgorithmEnum.AES_GCM_NO_PADDING, null, secureApiPropertiesConfig.isUrlSafe());
+    }
+
+    @Benchmark
+    public byte[] envelopeDecrypt() {
+        return algorithm.decryptEnvelope(envelopeCipherBytes, 0, envelopeCipherBytes.length, secureApiPropertiesConfig.getPrivateKey(), CipherAlgorithmEnum.AES_GCM_NO_PADDING, null, secureApiPropertiesConfig.isUrlSafe());
+    }
+}
@@ -0,0 +1,65 @@
+package icu.xuyijie.secureapi.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 19:10
+ * @description 基准测试入口，按线程数从 1 到 cpu 核数依次运行，开启 GC 分析统计内存分配速率，每个线程数的结果输出为一个 json 文件，用于对比不同版本的性能
+ * 使用方式：mvn -pl secure-api-benchmark -am package 后执行 java -jar secure-api-benchmark/target/benchmarks.jar [测试类正则] [线程数，如 1,4,8] [结果目录]
+ * 需要 JMH 命令行的全部参数时可以执行 java -cp secure-api-benchmark/target/benchmarks.jar org.openjdk.jmh.Main
+ */
+public class SecureApiBenchmarkRunner {
+    private SecureApiBenchmarkRunner() {
+
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "icu\\.xuyijie\\.secureapi\\.benchmark\\..*";
+        List<Integer> threadList = args.length > 1 ? parseThreads(args[1]) : defaultThreads();
+        File resultDir = new File(args.length > 2 ? args[2] : "jmh-result");
+        if (!resultDir.exists() && !resultDir.mkdirs()) {
+            throw new IllegalStateException("无法创建结果目录：" + resultDir.getAbsolutePath());
+        }
+        for (Integer threads : threadList) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(resultDir, "jmh-result-threads-" + threads + ".json").getPath())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+    private static List<Integer> parseThreads(String threads) {
+        List<Integer> threadList = new ArrayList<>();
+        for (String s : threads.split(",")) {
+            threadList.add(Integer.parseInt(s.trim()));
+        }
+        return threadList;
+    }
+
+    /**
+     * 1、2、4、8 ... 直到 cpu 核数
+     */
+    private static List<Integer> defaultThreads() {
+        int availableProcessors = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadList = new ArrayList<>();
+        for (int threads = 1; threads < availableProcessors; threads *= 2) {
+            threadList.add(threads);
+        }
+        threadList.add(availableProcessors);
+        return threadList;
+    }
+}
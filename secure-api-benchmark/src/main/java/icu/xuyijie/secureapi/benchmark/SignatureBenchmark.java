@@ -0,0 +1,52 @@
+package icu.xuyijie.secureapi.benchmark;
+
+import icu.xuyijie.secureapi.cipher.enums.CipherAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.enums.SignatureAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.utils.RsaSignatureUtils;
+import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 19:10
+ * @description 数字签名和验签基准测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureBenchmark {
+    @Param({"100", "1024", "102400", "1048576", "10485760"})
+    private int payloadSize;
+
+    @Param({"SHA512_WITH_RSA", "SHA256_WITH_RSA", "RSASSA_PSS", "ED25519", "ECDSA_P256", "HMAC_SHA256"})
+    private SignatureAlgorithmEnum signAlgorithm;
+
+    private RsaSignatureUtils rsaSignatureUtils;
+    private byte[] data;
+    private String signed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureApiPropertiesConfig config = BenchmarkSupport.newConfig(CipherAlgorithmEnum.AES_CBC_PKCS5);
+        config.setSignAlgorithm(signAlgorithm);
+        rsaSignatureUtils = new RsaSignatureUtils(config);
+        rsaSignatureUtils.generateKeyIfAbsent();
+        data = BenchmarkSupport.randomPayload(payloadSize);
+        signed = rsaSignatureUtils.sign(data);
+    }
+
+    @Benchmark
+    public String sign() {
+        return rsaSignatureUtils.sign(data);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return rsaSignatureUtils.verify(data, signed);
+    }
+}
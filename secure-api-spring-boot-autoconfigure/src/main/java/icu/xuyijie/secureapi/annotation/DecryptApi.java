@@ -8,7 +8,7 @@ import java.lang.annotation.*;
  * @description 根据此注解决定是否解密接口body参数
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target({ElementType.TYPE, ElementType.METHOD})
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
 @Documented
 public @interface DecryptApi {
 }
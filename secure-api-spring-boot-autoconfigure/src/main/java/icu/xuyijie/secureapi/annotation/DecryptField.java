@@ -0,0 +1,15 @@
+package icu.xuyijie.secureapi.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 23:40
+ * @description 根据此注解决定是否解密 @RequestBody 实体类的字段，前端只加密这个字段的值，其它字段使用明文，请求体不需要整体加密
+ * 非 String 类型的字段需要加密它的 json 值，字符串、枚举、UUID、日期等序列化为 json 字符串的值去掉两边的双引号，和 @EncryptField 的格式一致，已经整体加密的接口不需要再使用此注解
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Documented
+public @interface DecryptField {
+}
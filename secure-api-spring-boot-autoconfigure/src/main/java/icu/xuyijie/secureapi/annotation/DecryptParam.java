@@ -10,7 +10,7 @@ import java.lang.annotation.*;
  * @description 根据此注解决定是否解密接口param或formData参数，下面的配置项和@RequestParam功能一致
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target({ElementType.PARAMETER, ElementType.FIELD})
+@Target({ElementType.PARAMETER, ElementType.FIELD, ElementType.ANNOTATION_TYPE})
 @Documented
 public @interface DecryptParam {
     @AliasFor("name")
@@ -8,7 +8,7 @@ import java.lang.annotation.*;
  * @description 根据此注解决定是否加密接口返回值
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target({ElementType.TYPE, ElementType.METHOD})
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
 @Documented
 public @interface EncryptApi {
 }
@@ -0,0 +1,15 @@
+package icu.xuyijie.secureapi.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 23:05
+ * @description 根据此注解决定是否加密返回值实体类的字段，配置了 responseBodyDataField 时生效，和 data 字段一样在序列化时直接加密
+ * data 字段内部的 @EncryptField 字段不会被重复加密
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Documented
+public @interface EncryptField {
+}
@@ -1,12 +1,17 @@
 package icu.xuyijie.secureapi.autoconfigure;
 
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import icu.xuyijie.secureapi.cipher.enums.CipherAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.enums.CompressAlgorithmEnum;
 import icu.xuyijie.secureapi.cipher.utils.CipherUtils;
+import icu.xuyijie.secureapi.cipher.utils.RsaParallelSegmentProcessor;
 import icu.xuyijie.secureapi.cipher.utils.RsaSignatureUtils;
+import icu.xuyijie.secureapi.cipher.utils.SessionKeyCache;
 import icu.xuyijie.secureapi.config.ObjectMapperConfig;
 import icu.xuyijie.secureapi.exception.ErrorEnum;
 import icu.xuyijie.secureapi.exception.SecureApiException;
+import icu.xuyijie.secureapi.handler.DecryptFieldDeserializerModifier;
 import icu.xuyijie.secureapi.model.SecureApiProperties;
 import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
 import org.slf4j.Logger;
@@ -50,6 +55,23 @@ public class SecureApiAutoConfigure {
         secureApiPropertiesConfig.setSignPublicKey(secureApiProperties.getSignPublicKey());
         secureApiPropertiesConfig.setSignPrivateKey(secureApiProperties.getSignPrivateKey());
         secureApiPropertiesConfig.setResponseBodyDataField(secureApiProperties.getResponseBodyDataField());
+        secureApiPropertiesConfig.setStreamingEnabled(secureApiProperties.isStreamingEnabled());
+        secureApiPropertiesConfig.setSessionKeyCacheSize(secureApiProperties.getSessionKeyCacheSize());
+        secureApiPropertiesConfig.setSessionKeyCacheExpireSeconds(secureApiProperties.getSessionKeyCacheExpireSeconds());
+        secureApiPropertiesConfig.setParallelBindThreshold(secureApiProperties.getParallelBindThreshold());
+        secureApiPropertiesConfig.setAeadAadEnabled(secureApiProperties.isAeadAadEnabled());
+        secureApiPropertiesConfig.setRsaEnvelopeEnabled(secureApiProperties.isRsaEnvelopeEnabled());
+        secureApiPropertiesConfig.setRsaEnvelopeCipherAlgorithm(secureApiProperties.getRsaEnvelopeCipherAlgorithm());
+        secureApiPropertiesConfig.setRsaParallelBlockThreshold(secureApiProperties.getRsaParallelBlockThreshold());
+        secureApiPropertiesConfig.setSignAlgorithm(secureApiProperties.getSignAlgorithm());
+        secureApiPropertiesConfig.setSignCiphertextEnabled(secureApiProperties.isSignCiphertextEnabled());
+        secureApiPropertiesConfig.setBinaryTransportEnabled(secureApiProperties.isBinaryTransportEnabled());
+        secureApiPropertiesConfig.setCompressEnabled(secureApiProperties.isCompressEnabled());
+        secureApiPropertiesConfig.setCompressAlgorithm(secureApiProperties.getCompressAlgorithm());
+        secureApiPropertiesConfig.setCompressThreshold(secureApiProperties.getCompressThreshold());
+        secureApiPropertiesConfig.setChunkedResponseEnabled(secureApiProperties.isChunkedResponseEnabled());
+        secureApiPropertiesConfig.setChunkedResponseSize(secureApiProperties.getChunkedResponseSize());
+        secureApiPropertiesConfig.setDecompressMaxSize(secureApiProperties.getDecompressMaxSize());
         secureApiPropertiesConfig.setEncryptUrl(secureApiProperties.getEncryptUrl());
         secureApiPropertiesConfig.setDecryptUrl(secureApiProperties.getDecryptUrl());
         secureApiPropertiesConfig.setDateFormat(secureApiProperties.getDateFormat());
@@ -72,8 +94,30 @@ public class SecureApiAutoConfigure {
             if (SecureApiProperties.Mode.SESSION_KEY == mode && isAlgorithmError) {
                 throw new SecureApiException(ErrorEnum.SESSION_MODE_CONFIG_ERROR);
             }
+            // RSA信封模式的数据加密算法必须是AEAD算法
+            CipherAlgorithmEnum envelopeCipherAlgorithm = secureApiPropertiesConfig.getRsaEnvelopeCipherAlgorithm();
+            if (secureApiPropertiesConfig.isRsaEnvelopeEnabled() && (envelopeCipherAlgorithm == null || !envelopeCipherAlgorithm.isAead())) {
+                throw new SecureApiException(ErrorEnum.RSA_ENVELOPE_CONFIG_ERROR);
+            }
+            // 压缩算法需要 classpath 中有对应的依赖
+            if (secureApiPropertiesConfig.isCompressEnabled()) {
+                CompressAlgorithmEnum compressAlgorithm = secureApiPropertiesConfig.getCompressAlgorithm();
+                if (compressAlgorithm == null || !compressAlgorithm.isAvailable()) {
+                    throw new SecureApiException(ErrorEnum.COMPRESS_CONFIG_ERROR);
+                }
+                // 压缩后的数据经常以0x00结尾，NO_PADDING 算法解密时会把它当作补全字符去除
+                CipherAlgorithmEnum dataCipherAlgorithm = SecureApiProperties.Mode.SESSION_KEY == mode ? secureApiPropertiesConfig.getSessionKeyCipherAlgorithm() : cipherAlgorithmEnum;
+                if (dataCipherAlgorithm.getFillLength() > 0) {
+                    throw new SecureApiException(ErrorEnum.COMPRESS_CIPHER_ERROR);
+                }
+                log.info("\n加密前压缩已开启\n压缩算法：{}\n压缩阈值：{} 字节\n解压上限：{} 字节", compressAlgorithm, secureApiPropertiesConfig.getCompressThreshold(), secureApiPropertiesConfig.getDecompressMaxSize());
+            }
             // 如果用户没有配置key，根据加密算法自动生成key并打印在控制台
             cipherAlgorithmEnum.generateKeyIfAbsent(secureApiPropertiesConfig);
+            // 会话密钥缓存
+            SessionKeyCache.configure(secureApiPropertiesConfig.getSessionKeyCacheSize(), secureApiPropertiesConfig.getSessionKeyCacheExpireSeconds());
+            // RSA分段并行处理
+            RsaParallelSegmentProcessor.configure(secureApiPropertiesConfig.getRsaParallelBlockThreshold());
             if (SecureApiProperties.Mode.COMMON == mode) {
                 log.info("\n已开启接口加密\n日志打印：{}\n密文UrlSafe：{}\n模式：{}\n加解密算法：{}\n加密URL配置：{}\n解密URL配置：{}\nDate格式化：{}\nLocalDateTime格式化：{}\nLocalDate格式化：{}\nLocalTime格式化：{}", secureApiPropertiesConfig.isShowLog(), secureApiPropertiesConfig.isUrlSafe(), mode, cipherAlgorithmEnum, secureApiPropertiesConfig.getEncryptUrl(), secureApiPropertiesConfig.getDecryptUrl(), secureApiPropertiesConfig.getDateFormat(), secureApiPropertiesConfig.getLocalDateTimeFormat(), secureApiPropertiesConfig.getLocalDateFormat(), secureApiPropertiesConfig.getLocalTimeFormat());
             } else {
@@ -87,13 +131,23 @@ public class SecureApiAutoConfigure {
     public RsaSignatureUtils rsaSignatureUtils(SecureApiPropertiesConfig secureApiPropertiesConfig) {
         RsaSignatureUtils rsaSignatureUtils = new RsaSignatureUtils(secureApiPropertiesConfig);
         if (secureApiPropertiesConfig.isSignEnabled()) {
-            log.info("\n接口数据数字签名校验已开启");
+            log.info("\n接口数据数字签名校验已开启\n签名算法：{}", secureApiPropertiesConfig.getSignAlgorithm());
             // 如果用户没有配置数字签名验证的公、私钥，自动生成key并打印在控制台
             rsaSignatureUtils.generateKeyIfAbsent();
         }
         return rsaSignatureUtils;
     }
 
+    /**
+     * 字段级解密的 Module，Spring Boot 会把 Module bean 注册到所有通过 Jackson2ObjectMapperBuilder 创建的 ObjectMapper 中，
+     * 包括 secureApiObjectMapper 和解析 @RequestBody 的 ObjectMapper
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "secureApiDecryptFieldModule")
+    public Module secureApiDecryptFieldModule(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        return DecryptFieldDeserializerModifier.createModule(secureApiPropertiesConfig);
+    }
+
     @Bean
     public ObjectMapper secureApiObjectMapper(SecureApiPropertiesConfig secureApiPropertiesConfig, Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
         return new ObjectMapperConfig(secureApiPropertiesConfig, jackson2ObjectMapperBuilder).myObjectMapper();
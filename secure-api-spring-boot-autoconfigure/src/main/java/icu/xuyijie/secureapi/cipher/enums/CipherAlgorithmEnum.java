@@ -7,6 +7,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * @author 徐一杰
  * @date 2023/11/15 16:34
@@ -272,6 +278,63 @@ public enum CipherAlgorithmEnum {
             return CipherAlgorithmEnum.symmetricDecrypt(content, this, secureApiPropertiesConfig);
         }
     },
+    /**
+     * AEAD 认证加密，每条消息随机生成12字节 nonce，密文格式为 nonce + 密文 + 16字节认证标签，不需要配置iv，密文被篡改时解密失败
+     */
+    AES_GCM_NO_PADDING(KeyGenAlgorithmEnum.AES, "AES/GCM/NoPadding", 12, 0, true) {
+        @Override
+        public void generateKeyIfAbsent(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+            CipherAlgorithmEnum.generateEcbKeyIfAbsent(this, secureApiPropertiesConfig);
+        }
+
+        @Override
+        public String encrypt(String content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+            return CipherAlgorithmEnum.symmetricEncrypt(content, this, secureApiPropertiesConfig);
+        }
+
+        @Override
+        public String decrypt(String content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+            return CipherAlgorithmEnum.symmetricDecrypt(content, this, secureApiPropertiesConfig);
+        }
+    },
+    /**
+     * AEAD 认证加密，没有 AES 硬件加速的设备上比 AES-GCM 更快，密文格式同 AES_GCM_NO_PADDING
+     */
+    CHACHA20_POLY1305(KeyGenAlgorithmEnum.CHACHA20, "ChaCha20-Poly1305", 12, 0, true) {
+        @Override
+        public void generateKeyIfAbsent(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+            CipherAlgorithmEnum.generateEcbKeyIfAbsent(this, secureApiPropertiesConfig);
+        }
+
+        @Override
+        public String encrypt(String content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+            return CipherAlgorithmEnum.symmetricEncrypt(content, this, secureApiPropertiesConfig);
+        }
+
+        @Override
+        public String decrypt(String content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+            return CipherAlgorithmEnum.symmetricDecrypt(content, this, secureApiPropertiesConfig);
+        }
+    },
+    /**
+     * 国密 AEAD 认证加密，由 BouncyCastle 提供，密文格式同 AES_GCM_NO_PADDING
+     */
+    SM4_GCM_NO_PADDING(KeyGenAlgorithmEnum.SM4, "SM4/GCM/NoPadding", 12, 0, true) {
+        @Override
+        public void generateKeyIfAbsent(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+            CipherAlgorithmEnum.generateEcbKeyIfAbsent(this, secureApiPropertiesConfig);
+        }
+
+        @Override
+        public String encrypt(String content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+            return CipherAlgorithmEnum.symmetricEncrypt(content, this, secureApiPropertiesConfig);
+        }
+
+        @Override
+        public String decrypt(String content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+            return CipherAlgorithmEnum.symmetricDecrypt(content, this, secureApiPropertiesConfig);
+        }
+    },
     RSA_ECB_PKCS1(KeyGenAlgorithmEnum.RSA, "RSA/ECB/PKCS1Padding", 0, 0) {
         @Override
         public void generateKeyIfAbsent(SecureApiPropertiesConfig secureApiPropertiesConfig) {
@@ -330,6 +393,12 @@ public enum CipherAlgorithmEnum {
 
     private static final Logger log = LoggerFactory.getLogger(CipherAlgorithmEnum.class);
 
+    /**
+     * 加解密时复用的 CipherUtils，CipherUtils 内部使用对象池获取已初始化的 Cipher，不需要每次请求都重新创建
+     */
+    private static final Map<CipherAlgorithmEnum, CipherUtils> URL_SAFE_CIPHER_UTILS_MAP = new ConcurrentHashMap<>();
+    private static final Map<CipherAlgorithmEnum, CipherUtils> CIPHER_UTILS_MAP = new ConcurrentHashMap<>();
+
     /**
      * 根据加密方案获取密钥
      */
@@ -351,11 +420,21 @@ public enum CipherAlgorithmEnum {
      */
     private final Integer fillLength;
 
+    /**
+     * 是否是 AEAD 认证加密，AEAD 算法的 ivLength 是每条消息随机 nonce 的字节长度，不使用配置的iv
+     */
+    private final boolean aead;
+
     CipherAlgorithmEnum(KeyGenAlgorithmEnum keyGenEnum, String value, Integer ivLength, Integer fillLength) {
+        this(keyGenEnum, value, ivLength, fillLength, false);
+    }
+
+    CipherAlgorithmEnum(KeyGenAlgorithmEnum keyGenEnum, String value, Integer ivLength, Integer fillLength, boolean aead) {
         this.keyGenEnum = keyGenEnum;
         this.value = value;
         this.ivLength = ivLength;
         this.fillLength = fillLength;
+        this.aead = aead;
     }
 
     public KeyGenAlgorithmEnum getKeyGenEnum() {
@@ -374,6 +453,10 @@ public enum CipherAlgorithmEnum {
         return fillLength;
     }
 
+    public boolean isAead() {
+        return aead;
+    }
+
     /**
      * 如果加解密所需key不存在，则随机生成并保存到secureApiPropertiesConfig
      * @param secureApiPropertiesConfig 存储key
@@ -384,6 +467,375 @@ public enum CipherAlgorithmEnum {
 
     public abstract String decrypt(String content, SecureApiPropertiesConfig secureApiPropertiesConfig);
 
+    /**
+     * 使用指定的密钥加密，不读取全局配置中的密钥，用于每个请求密钥都不同的场景
+     *
+     * @param content 明文
+     * @param key 对称加密时为key，RSA时为公钥
+     * @param iv 偏移量，RSA时忽略
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 密文
+     */
+    public String encrypt(String content, String key, String iv, boolean isUrlSafe) {
+        return encrypt(content, key, iv, null, isUrlSafe);
+    }
+
+    /**
+     * 使用指定的密钥加密，AEAD 算法同时绑定附加认证数据
+     *
+     * @param content 明文
+     * @param key 对称加密时为key，RSA时为公钥
+     * @param iv 偏移量，RSA和AEAD时忽略
+     * @param aad 附加认证数据，不会加密但解密时必须相同，只有AEAD算法使用，可以为 null
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 密文
+     */
+    public String encrypt(String content, String key, String iv, byte[] aad, boolean isUrlSafe) {
+        CipherUtils cipherUtils = getCipherUtils(this, isUrlSafe);
+        if (KeyGenAlgorithmEnum.RSA == keyGenEnum) {
+            return cipherUtils.encrypt(content, key);
+        }
+        return cipherUtils.encrypt(content, key, iv, aad);
+    }
+
+    /**
+     * 使用指定的密钥解密，不读取全局配置中的密钥，用于每个请求密钥都不同的场景
+     *
+     * @param content 密文
+     * @param key 对称加密时为key，RSA时为私钥
+     * @param iv 偏移量，RSA时忽略
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 明文
+     */
+    public String decrypt(String content, String key, String iv, boolean isUrlSafe) {
+        return decrypt(content, key, iv, null, isUrlSafe);
+    }
+
+    /**
+     * 使用指定的密钥解密，AEAD 算法同时校验附加认证数据
+     *
+     * @param content 密文
+     * @param key 对称加密时为key，RSA时为私钥
+     * @param iv 偏移量，RSA和AEAD时忽略
+     * @param aad 附加认证数据，需要和加密时相同，只有AEAD算法使用，可以为 null
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 明文
+     */
+    public String decrypt(String content, String key, String iv, byte[] aad, boolean isUrlSafe) {
+        CipherUtils cipherUtils = getCipherUtils(this, isUrlSafe);
+        if (KeyGenAlgorithmEnum.RSA == keyGenEnum) {
+            return cipherUtils.decrypt(content, key);
+        }
+        return cipherUtils.decrypt(content, key, iv, aad);
+    }
+
+    /**
+     * 字节数组形式的加密，省去明文和密文在String和byte[]之间的来回转换
+     *
+     * @param content 明文字节数组
+     * @param secureApiPropertiesConfig 配置
+     * @return Base64编码后的密文字节数组
+     */
+    public byte[] encrypt(byte[] content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        String key = KeyGenAlgorithmEnum.RSA == keyGenEnum ? secureApiPropertiesConfig.getPublicKey() : secureApiPropertiesConfig.getKey();
+        return encrypt(content, key, secureApiPropertiesConfig.getIv(), secureApiPropertiesConfig.isUrlSafe());
+    }
+
+    /**
+     * 字节数组形式的加密，使用指定的密钥
+     *
+     * @param content 明文字节数组
+     * @param key 对称加密时为key，RSA时为公钥
+     * @param iv 偏移量，RSA时忽略
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return Base64编码后的密文字节数组
+     */
+    public byte[] encrypt(byte[] content, String key, String iv, boolean isUrlSafe) {
+        return encrypt(content, key, iv, null, isUrlSafe);
+    }
+
+    /**
+     * 字节数组形式的加密，使用指定的密钥，AEAD 算法同时绑定附加认证数据
+     *
+     * @param content 明文字节数组
+     * @param key 对称加密时为key，RSA时为公钥
+     * @param iv 偏移量，RSA和AEAD时忽略
+     * @param aad 附加认证数据，只有AEAD算法使用，可以为 null
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return Base64编码后的密文字节数组
+     */
+    public byte[] encrypt(byte[] content, String key, String iv, byte[] aad, boolean isUrlSafe) {
+        return getCipherUtils(this, isUrlSafe).encodeBase64(encryptBinary(content, key, iv, aad, isUrlSafe));
+    }
+
+    /**
+     * 字节数组形式的加密，结果不做Base64编码，用于二进制传输
+     *
+     * @param content 明文字节数组
+     * @param key 对称加密时为key，RSA时为公钥
+     * @param iv 偏移量，RSA和AEAD时忽略
+     * @param aad 附加认证数据，只有AEAD算法使用，可以为 null
+     * @param isUrlSafe 密钥的base64是否是urlSafe的
+     * @return 原始密文字节数组
+     */
+    public byte[] encryptBinary(byte[] content, String key, String iv, byte[] aad, boolean isUrlSafe) {
+        CipherUtils cipherUtils = getCipherUtils(this, isUrlSafe);
+        if (KeyGenAlgorithmEnum.RSA == keyGenEnum) {
+            return cipherUtils.encrypt(content, key);
+        }
+        return cipherUtils.encrypt(content, key, iv, aad);
+    }
+
+    /**
+     * 字节数组形式的解密
+     *
+     * @param content Base64编码的密文字节数组
+     * @param secureApiPropertiesConfig 配置
+     * @return 明文字节数组
+     */
+    public byte[] decrypt(byte[] content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        return decrypt(content, 0, content.length, secureApiPropertiesConfig);
+    }
+
+    /**
+     * 字节数组形式的解密，只解密其中一段，例如去掉了首尾引号的请求体
+     *
+     * @param content Base64编码的密文字节数组
+     * @param offset 开始位置
+     * @param length 长度
+     * @param secureApiPropertiesConfig 配置
+     * @return 明文字节数组
+     */
+    public byte[] decrypt(byte[] content, int offset, int length, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        String key = KeyGenAlgorithmEnum.RSA == keyGenEnum ? secureApiPropertiesConfig.getPrivateKey() : secureApiPropertiesConfig.getKey();
+        return decrypt(content, offset, length, key, secureApiPropertiesConfig.getIv(), secureApiPropertiesConfig.isUrlSafe());
+    }
+
+    /**
+     * 字节数组形式的解密，使用指定的密钥
+     *
+     * @param content Base64编码的密文字节数组
+     * @param offset 开始位置
+     * @param length 长度
+     * @param key 对称加密时为key，RSA时为私钥
+     * @param iv 偏移量，RSA时忽略
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 明文字节数组
+     */
+    public byte[] decrypt(byte[] content, int offset, int length, String key, String iv, boolean isUrlSafe) {
+        return decrypt(content, offset, length, key, iv, null, isUrlSafe);
+    }
+
+    /**
+     * 字节数组形式的解密，使用指定的密钥，AEAD 算法同时校验附加认证数据
+     *
+     * @param content Base64编码的密文字节数组
+     * @param offset 开始位置
+     * @param length 长度
+     * @param key 对称加密时为key，RSA时为私钥
+     * @param iv 偏移量，RSA和AEAD时忽略
+     * @param aad 附加认证数据，需要和加密时相同，只有AEAD算法使用，可以为 null
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 明文字节数组
+     */
+    public byte[] decrypt(byte[] content, int offset, int length, String key, String iv, byte[] aad, boolean isUrlSafe) {
+        return decryptBinary(getCipherUtils(this, isUrlSafe).decodeBase64(content, offset, length), key, iv, aad, isUrlSafe);
+    }
+
+    /**
+     * 字节数组形式的解密，content 是未经过Base64编码的原始密文，用于二进制传输
+     *
+     * @param content 原始密文字节数组
+     * @param key 对称加密时为key，RSA时为私钥
+     * @param iv 偏移量，RSA和AEAD时忽略
+     * @param aad 附加认证数据，需要和加密时相同，只有AEAD算法使用，可以为 null
+     * @param isUrlSafe 密钥的base64是否是urlSafe的
+     * @return 明文字节数组
+     */
+    public byte[] decryptBinary(byte[] content, String key, String iv, byte[] aad, boolean isUrlSafe) {
+        CipherUtils cipherUtils = getCipherUtils(this, isUrlSafe);
+        if (KeyGenAlgorithmEnum.RSA == keyGenEnum) {
+            return cipherUtils.decrypt(content, key);
+        }
+        return cipherUtils.decrypt(content, key, iv, aad);
+    }
+
+    /**
+     * 每条消息随机生成 iv 的加密，iv 放在密文开头后再做Base64编码，同一个 key 需要加密多条消息时使用，例如分块加密响应
+     *
+     * @param content 明文字节数组
+     * @param key 对称加密时为key，RSA时为公钥
+     * @param aad 附加认证数据，只有AEAD算法使用，可以为 null
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return Base64编码的 iv + 密文
+     */
+    public byte[] encryptRandomIv(byte[] content, String key, byte[] aad, boolean isUrlSafe) {
+        CipherUtils cipherUtils = getCipherUtils(this, isUrlSafe);
+        return cipherUtils.encodeBase64(cipherUtils.encryptRandomIv(content, key, aad));
+    }
+
+    /**
+     * 解密 encryptRandomIv 的结果，前端和 Java 客户端解密分块加密响应时使用
+     *
+     * @param content Base64编码的 iv + 密文
+     * @param key 对称加密时为key，RSA时为私钥
+     * @param aad 附加认证数据，需要和加密时相同，只有AEAD算法使用，可以为 null
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 明文
+     */
+    public String decryptRandomIv(String content, String key, byte[] aad, boolean isUrlSafe) {
+        CipherUtils cipherUtils = getCipherUtils(this, isUrlSafe);
+        byte[] base64Bytes = content.getBytes(StandardCharsets.ISO_8859_1);
+        return new String(cipherUtils.decryptRandomIv(cipherUtils.decodeBase64(base64Bytes, 0, base64Bytes.length), key, aad), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * RSA信封加密，只有RSA算法可以使用，明文由随机数据密钥和AEAD算法加密，RSA只加密数据密钥
+     *
+     * @param content 明文
+     * @param publicKey RSA公钥
+     * @param dataCipherAlgorithmEnum 加密明文使用的AEAD算法
+     * @param aad 附加认证数据，可以为 null
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 密文
+     */
+    public String encryptEnvelope(String content, String publicKey, CipherAlgorithmEnum dataCipherAlgorithmEnum, byte[] aad, boolean isUrlSafe) {
+        return getCipherUtils(this, isUrlSafe).encryptEnvelope(content, publicKey, dataCipherAlgorithmEnum, aad);
+    }
+
+    /**
+     * RSA信封解密
+     *
+     * @param content 密文
+     * @param privateKey RSA私钥
+     * @param dataCipherAlgorithmEnum 加密明文使用的AEAD算法，需要和加密时相同
+     * @param aad 附加认证数据，需要和加密时相同，可以为 null
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 明文
+     */
+    public String decryptEnvelope(String content, String privateKey, CipherAlgorithmEnum dataCipherAlgorithmEnum, byte[] aad, boolean isUrlSafe) {
+        return getCipherUtils(this, isUrlSafe).decryptEnvelope(content, privateKey, dataCipherAlgorithmEnum, aad);
+    }
+
+    /**
+     * 字节数组形式的RSA信封加密
+     *
+     * @param content 明文字节数组
+     * @param publicKey RSA公钥
+     * @param dataCipherAlgorithmEnum 加密明文使用的AEAD算法
+     * @param aad 附加认证数据，可以为 null
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return Base64编码后的密文字节数组
+     */
+    public byte[] encryptEnvelope(byte[] content, String publicKey, CipherAlgorithmEnum dataCipherAlgorithmEnum, byte[] aad, boolean isUrlSafe) {
+        return getCipherUtils(this, isUrlSafe).encodeBase64(encryptEnvelopeBinary(content, publicKey, dataCipherAlgorithmEnum, aad, isUrlSafe));
+    }
+
+    /**
+     * 字节数组形式的RSA信封加密，结果不做Base64编码，用于二进制传输
+     *
+     * @param content 明文字节数组
+     * @param publicKey RSA公钥
+     * @param dataCipherAlgorithmEnum 加密明文使用的AEAD算法
+     * @param aad 附加认证数据，可以为 null
+     * @param isUrlSafe 密钥的base64是否是urlSafe的
+     * @return 原始密文字节数组
+     */
+    public byte[] encryptEnvelopeBinary(byte[] content, String publicKey, CipherAlgorithmEnum dataCipherAlgorithmEnum, byte[] aad, boolean isUrlSafe) {
+        return getCipherUtils(this, isUrlSafe).encryptEnvelope(content, publicKey, dataCipherAlgorithmEnum, aad);
+    }
+
+    /**
+     * 字节数组形式的RSA信封解密，只解密其中一段
+     *
+     * @param content Base64编码的密文字节数组
+     * @param offset 开始位置
+     * @param length 长度
+     * @param privateKey RSA私钥
+     * @param dataCipherAlgorithmEnum 加密明文使用的AEAD算法，需要和加密时相同
+     * @param aad 附加认证数据，需要和加密时相同，可以为 null
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 明文字节数组
+     */
+    public byte[] decryptEnvelope(byte[] content, int offset, int length, String privateKey, CipherAlgorithmEnum dataCipherAlgorithmEnum, byte[] aad, boolean isUrlSafe) {
+        return decryptEnvelopeBinary(getCipherUtils(this, isUrlSafe).decodeBase64(content, offset, length), privateKey, dataCipherAlgorithmEnum, aad, isUrlSafe);
+    }
+
+    /**
+     * 字节数组形式的RSA信封解密，content 是未经过Base64编码的原始密文，用于二进制传输
+     *
+     * @param content 原始密文字节数组
+     * @param privateKey RSA私钥
+     * @param dataCipherAlgorithmEnum 加密明文使用的AEAD算法，需要和加密时相同
+     * @param aad 附加认证数据，需要和加密时相同，可以为 null
+     * @param isUrlSafe 密钥的base64是否是urlSafe的
+     * @return 明文字节数组
+     */
+    public byte[] decryptEnvelopeBinary(byte[] content, String privateKey, CipherAlgorithmEnum dataCipherAlgorithmEnum, byte[] aad, boolean isUrlSafe) {
+        return getCipherUtils(this, isUrlSafe).decryptEnvelope(content, privateKey, dataCipherAlgorithmEnum, aad);
+    }
+
+    /**
+     * 是否支持流式解密，只有对称加密的自动填充方案支持，AEAD 的 nonce 在密文开头并且要读到末尾才能校验认证标签，不支持流式处理
+     *
+     * @return 是否支持流式解密
+     */
+    public boolean isStreamSupported() {
+        return KeyGenAlgorithmEnum.RSA != keyGenEnum && fillLength == 0 && !aead;
+    }
+
+    /**
+     * 流式加密，调用前需要使用 isStreamSupported 判断是否支持
+     *
+     * @param content Base64编码的密文输出流
+     * @param key 加密key
+     * @param iv 偏移量
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 写入明文的流，关闭后才会写出最后一个分组
+     */
+    public OutputStream encrypt(OutputStream content, String key, String iv, boolean isUrlSafe) {
+        return getCipherUtils(this, isUrlSafe).encrypt(content, key, iv);
+    }
+
+    /**
+     * 流式解密，调用前需要使用 isStreamSupported 判断是否支持
+     *
+     * @param content Base64编码的密文流
+     * @param key 解密key
+     * @param iv 偏移量
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return 明文流
+     */
+    public InputStream decrypt(InputStream content, String key, String iv, boolean isUrlSafe) {
+        return getCipherUtils(this, isUrlSafe).decrypt(content, key, iv);
+    }
+
+    /**
+     * 流式加密，不做Base64编码，用于二进制传输，调用前需要使用 isStreamSupported 判断是否支持
+     *
+     * @param content 原始密文的输出流
+     * @param key 加密key
+     * @param iv 偏移量
+     * @param isUrlSafe 密钥的base64是否是urlSafe的
+     * @return 写入明文的流，关闭后才会写出最后一个分组
+     */
+    public OutputStream encryptBinary(OutputStream content, String key, String iv, boolean isUrlSafe) {
+        return getCipherUtils(this, isUrlSafe).encryptBinary(content, key, iv);
+    }
+
+    /**
+     * 流式解密，content 是未经过Base64编码的原始密文，用于二进制传输，调用前需要使用 isStreamSupported 判断是否支持
+     *
+     * @param content 原始密文流
+     * @param key 解密key
+     * @param iv 偏移量
+     * @param isUrlSafe 密钥的base64是否是urlSafe的
+     * @return 明文流
+     */
+    public InputStream decryptBinary(InputStream content, String key, String iv, boolean isUrlSafe) {
+        return getCipherUtils(this, isUrlSafe).decryptBinary(content, key, iv);
+    }
+
     private static void generateEcbKeyIfAbsent(CipherAlgorithmEnum cipherAlgorithmEnum, SecureApiPropertiesConfig secureApiPropertiesConfig) {
         if (!StringUtils.hasText(secureApiPropertiesConfig.getKey())) {
             CipherUtils cipherUtils = new CipherUtils(cipherAlgorithmEnum, secureApiPropertiesConfig.isUrlSafe());
@@ -413,23 +865,35 @@ public enum CipherAlgorithmEnum {
         }
     }
 
+    /**
+     * 获取可复用的 CipherUtils
+     *
+     * @param cipherAlgorithmEnum 加密算法
+     * @param isUrlSafe base64是否是urlSafe的
+     * @return CipherUtils
+     */
+    private static CipherUtils getCipherUtils(CipherAlgorithmEnum cipherAlgorithmEnum, boolean isUrlSafe) {
+        Map<CipherAlgorithmEnum, CipherUtils> cipherUtilsMap = isUrlSafe ? URL_SAFE_CIPHER_UTILS_MAP : CIPHER_UTILS_MAP;
+        return cipherUtilsMap.computeIfAbsent(cipherAlgorithmEnum, k -> new CipherUtils(k, isUrlSafe));
+    }
+
     private static String symmetricEncrypt(String content, CipherAlgorithmEnum cipherAlgorithmEnum, SecureApiPropertiesConfig secureApiPropertiesConfig) {
-        CipherUtils cipherUtils = new CipherUtils(cipherAlgorithmEnum, secureApiPropertiesConfig.isUrlSafe());
+        CipherUtils cipherUtils = getCipherUtils(cipherAlgorithmEnum, secureApiPropertiesConfig.isUrlSafe());
         return cipherUtils.encrypt(content, secureApiPropertiesConfig.getKey(), secureApiPropertiesConfig.getIv());
     }
 
     private static String rsaEncrypt(String content, CipherAlgorithmEnum cipherAlgorithmEnum, SecureApiPropertiesConfig secureApiPropertiesConfig) {
-        CipherUtils cipherUtils = new CipherUtils(cipherAlgorithmEnum, secureApiPropertiesConfig.isUrlSafe());
+        CipherUtils cipherUtils = getCipherUtils(cipherAlgorithmEnum, secureApiPropertiesConfig.isUrlSafe());
         return cipherUtils.encrypt(content, secureApiPropertiesConfig.getPublicKey());
     }
 
     private static String symmetricDecrypt(String content, CipherAlgorithmEnum cipherAlgorithmEnum, SecureApiPropertiesConfig secureApiPropertiesConfig) {
-        CipherUtils cipherUtils = new CipherUtils(cipherAlgorithmEnum, secureApiPropertiesConfig.isUrlSafe());
+        CipherUtils cipherUtils = getCipherUtils(cipherAlgorithmEnum, secureApiPropertiesConfig.isUrlSafe());
         return cipherUtils.decrypt(content, secureApiPropertiesConfig.getKey(), secureApiPropertiesConfig.getIv());
     }
 
     private static String rsaDecrypt(String content, CipherAlgorithmEnum cipherAlgorithmEnum, SecureApiPropertiesConfig secureApiPropertiesConfig) {
-        CipherUtils cipherUtils = new CipherUtils(cipherAlgorithmEnum, secureApiPropertiesConfig.isUrlSafe());
+        CipherUtils cipherUtils = getCipherUtils(cipherAlgorithmEnum, secureApiPropertiesConfig.isUrlSafe());
         return cipherUtils.decrypt(content, secureApiPropertiesConfig.getPrivateKey());
     }
 
@@ -0,0 +1,158 @@
+package icu.xuyijie.secureapi.cipher.enums;
+
+import org.springframework.util.ClassUtils;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 22:10
+ * @description 加密前的压缩算法枚举，密文无法再被压缩，所以需要在加密前压缩、解密后解压
+ * ZSTD 和 LZ4 需要自行引入 com.github.luben:zstd-jni 和 org.lz4:lz4-java，通过反射创建流，本项目不直接依赖
+ */
+public enum CompressAlgorithmEnum {
+    /**
+     * gzip 格式
+     */
+    GZIP("gzip", null, null) {
+        @Override
+        public OutputStream compress(OutputStream output) throws IOException {
+            return new GZIPOutputStream(output, BUFFER_SIZE);
+        }
+
+        @Override
+        public InputStream decompress(InputStream input) throws IOException {
+            return new GZIPInputStream(input, BUFFER_SIZE);
+        }
+    },
+    /**
+     * zlib 格式，没有 gzip 的文件头和 CRC32 校验
+     */
+    DEFLATE("deflate", null, null) {
+        @Override
+        public OutputStream compress(OutputStream output) {
+            return new DeflaterOutputStream(output);
+        }
+
+        @Override
+        public InputStream decompress(InputStream input) {
+            return new InflaterInputStream(input);
+        }
+    },
+    /**
+     * zstd 格式，需要 zstd-jni
+     */
+    ZSTD("zstd", "com.github.luben.zstd.ZstdOutputStream", "com.github.luben.zstd.ZstdInputStream"),
+    /**
+     * LZ4 frame 格式，需要 lz4-java
+     */
+    LZ4("lz4", "net.jpountz.lz4.LZ4FrameOutputStream", "net.jpountz.lz4.LZ4FrameInputStream"),
+    ;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * X-Secure-Api-Compress 请求头和响应头中的值
+     */
+    private final String value;
+
+    /**
+     * 第三方压缩流的类名，JDK 自带的算法为 null
+     */
+    private final String outputStreamClassName;
+
+    /**
+     * 第三方解压流的类名，JDK 自带的算法为 null
+     */
+    private final String inputStreamClassName;
+
+    CompressAlgorithmEnum(String value, String outputStreamClassName, String inputStreamClassName) {
+        this.value = value;
+        this.outputStreamClassName = outputStreamClassName;
+        this.inputStreamClassName = inputStreamClassName;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * 压缩算法是否可用，第三方算法需要 classpath 中有对应的依赖
+     *
+     * @return 是否可用
+     */
+    public boolean isAvailable() {
+        return outputStreamClassName == null || ClassUtils.isPresent(outputStreamClassName, CompressAlgorithmEnum.class.getClassLoader());
+    }
+
+    /**
+     * 包装为边写入边压缩的流，关闭后才会写出全部压缩数据，output 也会被关闭
+     *
+     * @param output 压缩结果的输出流
+     * @return 写入原始数据的流
+     */
+    public OutputStream compress(OutputStream output) throws IOException {
+        return (OutputStream) newStream(outputStreamClassName, OutputStream.class, output);
+    }
+
+    /**
+     * 包装为边读取边解压的流
+     *
+     * @param input 压缩数据流
+     * @return 解压后的流
+     */
+    public InputStream decompress(InputStream input) throws IOException {
+        return (InputStream) newStream(inputStreamClassName, InputStream.class, input);
+    }
+
+    /**
+     * 压缩字节数组
+     *
+     * @param content 原始数据
+     * @return 压缩后的数据
+     */
+    public byte[] compress(byte[] content) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(Math.max(content.length / 4, 64));
+        try (OutputStream outputStream = compress(byteArrayOutputStream)) {
+            outputStream.write(content);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * 根据 X-Secure-Api-Compress 头的值获取压缩算法
+     *
+     * @param value 头的值，忽略大小写
+     * @return 压缩算法，不支持的值返回 null
+     */
+    public static CompressAlgorithmEnum fromValue(String value) {
+        for (CompressAlgorithmEnum compressAlgorithmEnum : values()) {
+            if (compressAlgorithmEnum.value.equalsIgnoreCase(value)) {
+                return compressAlgorithmEnum;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 通过反射创建第三方压缩或解压流，只有一个流参数的构造方法
+     */
+    private static Object newStream(String className, Class<?> parameterType, Object stream) throws IOException {
+        try {
+            Class<?> clazz = ClassUtils.forName(className, CompressAlgorithmEnum.class.getClassLoader());
+            return clazz.getConstructor(parameterType).newInstance(stream);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IOException("压缩算法不可用：" + className, e);
+        }
+    }
+}
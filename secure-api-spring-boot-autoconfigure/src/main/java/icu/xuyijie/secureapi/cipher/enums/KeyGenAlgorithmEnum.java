@@ -13,6 +13,7 @@ public enum KeyGenAlgorithmEnum {
     DES("DES", 56),
     DES_EDE("DESede", 168),
     SM4("SM4", 128),
+    CHACHA20("ChaCha20", 256),
     RSA("RSA", 2048),
     ;
 
@@ -0,0 +1,118 @@
+package icu.xuyijie.secureapi.cipher.enums;
+
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.security.spec.*;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 20:40
+ * @description 数字签名算法枚举，SHA256withRSA 比 SHA512withRSA 的摘要计算更快，RSASSA-PSS 是更推荐的 RSA 签名填充方案，
+ * Ed25519、ECDSA P-256 的签名速度比 RSA 快很多，HMAC-SHA256 使用双方共享的密钥，适合服务端之间调用
+ */
+public enum SignatureAlgorithmEnum {
+    /**
+     * Signature.getInstance 传入的签名算法，RSASSA-PSS 需要额外的参数，前端需要使用相同的参数
+     */
+    SHA512_WITH_RSA("SHA512withRSA", "RSA", null, new RSAKeyGenParameterSpec(2048, RSAKeyGenParameterSpec.F4)),
+    SHA256_WITH_RSA("SHA256withRSA", "RSA", null, new RSAKeyGenParameterSpec(2048, RSAKeyGenParameterSpec.F4)),
+    /**
+     * 摘要算法 SHA-256，MGF1 使用 SHA-256，盐长度 32 字节
+     */
+    RSASSA_PSS("RSASSA-PSS", "RSA", new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, PSSParameterSpec.TRAILER_FIELD_BC), new RSAKeyGenParameterSpec(2048, RSAKeyGenParameterSpec.F4)),
+    ED25519("Ed25519", "Ed25519", null, NamedParameterSpec.ED25519),
+    /**
+     * 曲线 secp256r1，签名为 DER 编码
+     */
+    ECDSA_P256("SHA256withECDSA", "EC", null, new ECGenParameterSpec("secp256r1")),
+    /**
+     * 共享密钥长度 32 字节，公钥和私钥配置为同一个 base64 密钥
+     */
+    HMAC_SHA256("HmacSHA256", 32),
+    ;
+
+    /**
+     * 签名算法
+     */
+    private final String value;
+
+    /**
+     * 密钥算法，KeyFactory 和 KeyPairGenerator 使用
+     */
+    private final String keyAlgorithm;
+
+    /**
+     * 签名算法参数，不需要时为 null
+     */
+    private final AlgorithmParameterSpec parameterSpec;
+
+    /**
+     * 随机生成密钥对时的参数
+     */
+    private final AlgorithmParameterSpec keyGenParameterSpec;
+
+    /**
+     * 是否是 HMAC 算法，HMAC 使用 Mac 计算，不使用 Signature
+     */
+    private final boolean hmac;
+
+    /**
+     * HMAC 共享密钥的字节数
+     */
+    private final int secretLength;
+
+    SignatureAlgorithmEnum(String value, String keyAlgorithm, AlgorithmParameterSpec parameterSpec, AlgorithmParameterSpec keyGenParameterSpec) {
+        this.value = value;
+        this.keyAlgorithm = keyAlgorithm;
+        this.parameterSpec = parameterSpec;
+        this.keyGenParameterSpec = keyGenParameterSpec;
+        this.hmac = false;
+        this.secretLength = 0;
+    }
+
+    SignatureAlgorithmEnum(String value, int secretLength) {
+        this.value = value;
+        this.keyAlgorithm = value;
+        this.parameterSpec = null;
+        this.keyGenParameterSpec = null;
+        this.hmac = true;
+        this.secretLength = secretLength;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    public AlgorithmParameterSpec getParameterSpec() {
+        return parameterSpec;
+    }
+
+    public AlgorithmParameterSpec getKeyGenParameterSpec() {
+        return keyGenParameterSpec;
+    }
+
+    public boolean isHmac() {
+        return hmac;
+    }
+
+    public int getSecretLength() {
+        return secretLength;
+    }
+
+    /**
+     * 创建未初始化的 Signature，已设置签名算法参数，HMAC 算法不能调用
+     *
+     * @return Signature
+     */
+    public Signature newSignature() throws GeneralSecurityException {
+        Signature signature = Signature.getInstance(value);
+        if (parameterSpec != null) {
+            signature.setParameter(parameterSpec);
+        }
+        return signature;
+    }
+}
@@ -0,0 +1,137 @@
+package icu.xuyijie.secureapi.cipher.utils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/19 0:30
+ * @description 客户端解析分块加密响应（响应头带有 X-Secure-Api-Chunked），边读取响应边解密，每读到一块密文就解密并返回，不需要等待整个响应
+ * 响应格式为 ["第一块密文","第二块密文"]，每块密文的开头是这一块的随机 iv，使用 CipherAlgorithmEnum.decryptRandomIv 解密
+ * 每块解密后是 {"index":块序号,"data":[这一块的元素],"last":是否是最后一块}，这里校验序号连续、最后一块之后没有其它块、响应结束前收到了最后一块，返回 data 数组，按顺序拼接就是完整的集合
+ * 前端实现时也是同样的方式：按双引号切分出每块 Base64 密文，Base64 字符集中不包含双引号、逗号和方括号，解密后同样需要校验 index 和 last
+ * <pre>
+ * ChunkedResponseDecoder decoder = new ChunkedResponseDecoder(inputStream, content -> CipherAlgorithmEnum.AES_GCM_NO_PADDING.decryptRandomIv(content, key, aad, false));
+ * String chunkJson;
+ * while ((chunkJson = decoder.next()) != null) {
+ *     List&lt;User&gt; userList = objectMapper.readValue(chunkJson, new TypeReference&lt;&gt;() {});
+ * }
+ * </pre>
+ */
+public final class ChunkedResponseDecoder {
+    private static final String LAST_TRUE = ",\"last\":true}";
+    private static final String LAST_FALSE = ",\"last\":false}";
+
+    private final InputStream inputStream;
+    private final UnaryOperator<String> decryptor;
+    private final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+    private boolean started = false;
+    private boolean finished = false;
+    private boolean last = false;
+    private int index = 0;
+
+    /**
+     * @param inputStream 响应体
+     * @param decryptor 解密一块 Base64 密文，和解密普通响应使用相同的算法和密钥，需要使用 decryptRandomIv
+     */
+    public ChunkedResponseDecoder(InputStream inputStream, UnaryOperator<String> decryptor) {
+        this.inputStream = inputStream instanceof BufferedInputStream ? inputStream : new BufferedInputStream(inputStream);
+        this.decryptor = decryptor;
+    }
+
+    /**
+     * 读取并解密下一块，阻塞到这一块完整到达
+     *
+     * @return 这一块元素组成的 json 数组，没有更多块时返回 null
+     * @throws IOException 读取失败、响应格式错误，或者块被删除、调换顺序、响应被截断
+     */
+    public String next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (!started) {
+            if (readSkipWhitespace() != '[') {
+                throw new IOException("分块加密响应格式错误，应以 [ 开头");
+            }
+            started = true;
+        }
+        int b = readSkipWhitespace();
+        if (b == ',') {
+            b = readSkipWhitespace();
+        }
+        if (b == ']') {
+            if (!last) {
+                throw new IOException("分块加密响应不完整，没有收到最后一块");
+            }
+            finished = true;
+            return null;
+        }
+        if (last) {
+            throw new IOException("分块加密响应格式错误，最后一块之后还有数据");
+        }
+        if (b != '"') {
+            throw new IOException("分块加密响应格式错误，缺少密文");
+        }
+        chunk.reset();
+        while ((b = inputStream.read()) != '"') {
+            if (b == -1) {
+                throw new IOException("分块加密响应不完整");
+            }
+            chunk.write(b);
+        }
+        return checkFrame(decryptor.apply(chunk.toString(StandardCharsets.ISO_8859_1)));
+    }
+
+    /**
+     * 校验块序号和 last 标记，返回 data 数组
+     */
+    private String checkFrame(String frame) throws IOException {
+        String prefix = "{\"index\":" + index + ",\"data\":";
+        if (!frame.startsWith(prefix)) {
+            throw new IOException("分块加密响应块序号错误，应为 " + index);
+        }
+        int end;
+        if (frame.endsWith(LAST_TRUE)) {
+            last = true;
+            end = frame.length() - LAST_TRUE.length();
+        } else if (frame.endsWith(LAST_FALSE)) {
+            end = frame.length() - LAST_FALSE.length();
+        } else {
+            throw new IOException("分块加密响应格式错误，缺少 last 标记");
+        }
+        index++;
+        return frame.substring(prefix.length(), end);
+    }
+
+    /**
+     * 依次解密每一块并交给 chunkConsumer 处理，直到响应结束
+     *
+     * @param inputStream 响应体
+     * @param decryptor 解密一块 Base64 密文
+     * @param chunkConsumer 处理每块元素组成的 json 数组
+     * @throws IOException 读取失败或响应格式错误
+     */
+    public static void decode(InputStream inputStream, UnaryOperator<String> decryptor, Consumer<String> chunkConsumer) throws IOException {
+        ChunkedResponseDecoder chunkedResponseDecoder = new ChunkedResponseDecoder(inputStream, decryptor);
+        String chunkJson;
+        while ((chunkJson = chunkedResponseDecoder.next()) != null) {
+            chunkConsumer.accept(chunkJson);
+        }
+    }
+
+    private int readSkipWhitespace() throws IOException {
+        int b;
+        do {
+            b = inputStream.read();
+        } while (b != -1 && Character.isWhitespace(b));
+        if (b == -1) {
+            throw new IOException("分块加密响应不完整");
+        }
+        return b;
+    }
+}
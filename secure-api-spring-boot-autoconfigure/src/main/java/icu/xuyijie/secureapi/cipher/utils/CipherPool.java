@@ -0,0 +1,95 @@
+package icu.xuyijie.secureapi.cipher.utils;
+
+import javax.crypto.Cipher;
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 10:12
+ * @description 已初始化的 Cipher 对象池，按 (加密方案, 加解密模式, key, iv) 缓存，避免每次请求都执行 Cipher.getInstance 和密钥解析
+ */
+final class CipherPool {
+    private CipherPool() {
+
+    }
+
+    /**
+     * 最多缓存多少组不同的 (加密方案, 模式, key, iv)，会话密钥模式下 key 会不断变化，超过后清空重新缓存，防止内存无限增长
+     */
+    private static final int MAX_POOL_KEY_SIZE = 1024;
+
+    /**
+     * 每组最多保留的空闲 Cipher 数量，一般并发线程数不会超过 cpu 核数太多
+     */
+    private static final int MAX_IDLE_PER_KEY = Runtime.getRuntime().availableProcessors() * 2;
+
+    private static final Map<PoolKey, Queue<Cipher>> POOL = new ConcurrentHashMap<>();
+
+    /**
+     * 池的 key，Cipher 初始化依赖的全部参数
+     *
+     * @param transformation 加密算法/反馈模式/填充方案
+     * @param mode Cipher.ENCRYPT_MODE 或 Cipher.DECRYPT_MODE
+     * @param key base64 形式的密钥
+     * @param iv base64 形式的偏移量，没有则为 null
+     */
+    record PoolKey(String transformation, int mode, String key, String iv) {
+    }
+
+    /**
+     * 创建一个新的已初始化 Cipher，只有池中没有空闲对象时才会调用
+     */
+    @FunctionalInterface
+    interface CipherFactory {
+        Cipher create() throws GeneralSecurityException;
+    }
+
+    /**
+     * 从池中借出一个已初始化的 Cipher，没有空闲对象时新建一个
+     *
+     * @param poolKey 池的 key
+     * @param cipherFactory Cipher 创建方法
+     * @return 已初始化的 Cipher，用完后需要调用 release 归还
+     */
+    static Cipher borrow(PoolKey poolKey, CipherFactory cipherFactory) throws GeneralSecurityException {
+        Queue<Cipher> queue = POOL.get(poolKey);
+        if (queue != null) {
+            Cipher cipher = queue.poll();
+            if (cipher != null) {
+                return cipher;
+            }
+        }
+        return cipherFactory.create();
+    }
+
+    /**
+     * 归还 Cipher，doFinal 执行成功后 Cipher 会自动重置为 init 时的状态，可以直接复用；执行失败的 Cipher 不要归还
+     *
+     * @param poolKey 池的 key
+     * @param cipher 借出的 Cipher
+     */
+    static void release(PoolKey poolKey, Cipher cipher) {
+        Queue<Cipher> queue = POOL.get(poolKey);
+        if (queue == null) {
+            if (POOL.size() >= MAX_POOL_KEY_SIZE) {
+                POOL.clear();
+            }
+            queue = POOL.computeIfAbsent(poolKey, k -> new ArrayBlockingQueue<>(MAX_IDLE_PER_KEY));
+        }
+        // 队列满了直接丢弃
+        queue.offer(cipher);
+    }
+
+    /**
+     * 移除使用指定密钥初始化的 Cipher
+     *
+     * @param key base64 形式的密钥
+     */
+    static void invalidate(String key) {
+        POOL.keySet().removeIf(poolKey -> key.equals(poolKey.key()));
+    }
+}
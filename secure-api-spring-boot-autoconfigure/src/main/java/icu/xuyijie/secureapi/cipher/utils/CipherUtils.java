@@ -11,14 +11,17 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 import javax.crypto.*;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.spec.X509EncodedKeySpec;
+import java.security.spec.AlgorithmParameterSpec;
 import java.util.Arrays;
 
 /**
@@ -45,9 +48,29 @@ public class CipherUtils {
     private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
 
     /**
-     * 随机填充字符串
+     * AEAD 认证标签的字节长度
      */
-    private String paddingString = "";
+    private static final int AEAD_TAG_LENGTH = 16;
+
+    /**
+     * RSA信封模式中数据密钥密文长度占用的字节数
+     */
+    private static final int ENVELOPE_KEY_LENGTH_SIZE = 2;
+
+    /**
+     * RSA分段加密时每段明文的最大字节长度，2048位密钥在OAEP填充下不能超过190
+     */
+    private static final int RSA_ENCRYPT_SEGMENT_LENGTH = 190;
+
+    /**
+     * 生成 AEAD 每条消息的随机 nonce，SecureRandom 是线程安全的
+     */
+    private static final SecureRandom NONCE_RANDOM = new SecureRandom();
+
+    /**
+     * 每条消息随机 iv 时池的 key 中 iv 的占位符，不是合法的 Base64，不会和配置的 iv 冲突
+     */
+    private static final String RANDOM_IV = "*";
 
     private final PublicUtils publicUtils;
 
@@ -182,6 +205,20 @@ public class CipherUtils {
         }
     }
 
+    /**
+     * 检查内容和key是否为空
+     * @param content 内容
+     * @param key 密钥
+     */
+    private void check(byte[] content, String key) {
+        if (content == null || content.length == 0) {
+            throw new SecureApiException(ErrorEnum.CONTENT_EMPTY);
+        }
+        if (!StringUtils.hasText(key)) {
+            throw new SecureApiException(ErrorEnum.KEY_EMPTY);
+        }
+    }
+
     /**
      * 加密操作
      *
@@ -190,6 +227,43 @@ public class CipherUtils {
      * @return 返回Base64转码后的加密数据
      */
     public String encrypt(String content, String key) {
+        check(content, key);
+        return publicUtils.byte2Base64(encrypt(content.getBytes(StandardCharsets.UTF_8), key));
+    }
+
+    /**
+     * 加密操作
+     *
+     * @param content 待加密内容
+     * @param key     加密密钥
+     * @param iv      偏移量
+     * @return 返回Base64转码后的加密数据
+     */
+    public String encrypt(String content, String key, String iv) {
+        return encrypt(content, key, iv, null);
+    }
+
+    /**
+     * 加密操作
+     *
+     * @param content 待加密内容
+     * @param key     加密密钥
+     * @param iv      偏移量，AEAD算法时忽略
+     * @param aad     附加认证数据，只有AEAD算法使用，可以为 null
+     * @return 返回Base64转码后的加密数据
+     */
+    public String encrypt(String content, String key, String iv, byte[] aad) {
+        return publicUtils.byte2Base64(encrypt(content.getBytes(StandardCharsets.UTF_8), key, iv, aad));
+    }
+
+    /**
+     * 加密操作
+     *
+     * @param content 待加密字节数组
+     * @param key     加密密钥，RSA算法时为公钥
+     * @return 密文字节数组，未经过Base64转码
+     */
+    public byte[] encrypt(byte[] content, String key) {
         check(content, key);
         return switch (keyGenAlgorithmEnum) {
             case RSA -> encryptRsa(content, key);
@@ -202,19 +276,21 @@ public class CipherUtils {
      *
      * @param content 待加密内容
      * @param key     加密密钥
-     * @return 返回Base64转码后的加密数据
+     * @return 密文字节数组
      */
-    private String encryptRsa(String content, String key) {
+    private byte[] encryptRsa(byte[] content, String key) {
         try {
-            // 创建密码器
-            Cipher cipher = Cipher.getInstance(cipherAlgorithmEnum.getValue());
-            // 初始化RSA加密模式的密码器，new X509EncodedKeySpec从byte[]恢复KeySpec对象
-            PublicKey pubKey = KeyFactory.getInstance(keyGenAlgorithmEnum.getValue()).generatePublic(new X509EncodedKeySpec(publicUtils.base642Byte(key)));
-            cipher.init(Cipher.ENCRYPT_MODE, pubKey);
+            // 从对象池获取已初始化的密码器，池中没有时才会创建并解析公钥
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.ENCRYPT_MODE, key, null);
+            // 分段较多时并行加密，每个线程使用自己的密码器
+            if (RsaParallelSegmentProcessor.isParallel(RsaParallelSegmentProcessor.getBlockCount(content.length, RSA_ENCRYPT_SEGMENT_LENGTH))) {
+                return RsaParallelSegmentProcessor.encrypt(content, RSA_ENCRYPT_SEGMENT_LENGTH, poolKey, () -> createRsaCipher(Cipher.ENCRYPT_MODE, key));
+            }
+            Cipher cipher = CipherPool.borrow(poolKey, () -> createRsaCipher(Cipher.ENCRYPT_MODE, key));
             // 加密
             byte[] result = rsaGroupEncrypt(content, cipher);
-            //通过Base64转码返回
-            return publicUtils.byte2Base64(result);
+            CipherPool.release(poolKey, cipher);
+            return result;
         } catch (Exception e) {
             log.error("RSA加密失败", e);
             throw new SecureApiException(ErrorEnum.RSA_ENCRYPT_ERROR);
@@ -223,20 +299,19 @@ public class CipherUtils {
 
     /**
      * 判断是否需要分组操作
-     * @param content 明文
+     * @param byteContent 明文
      * @param cipher 密钥器
      * @return 密文字节数组
      */
-    private byte[] rsaGroupEncrypt(String content, Cipher cipher) throws IllegalBlockSizeException, BadPaddingException, IOException {
-        byte[] byteContent = content.getBytes(StandardCharsets.UTF_8);
+    private byte[] rsaGroupEncrypt(byte[] byteContent, Cipher cipher) throws IllegalBlockSizeException, BadPaddingException, IOException {
         int inputLength = byteContent.length;
         // 加密的时候不是密钥长度/8了，因为有padding策略还会增加字符，明文字节长度不能超过190
-        int maxLength = 190;
+        int maxLength = RSA_ENCRYPT_SEGMENT_LENGTH;
         if (inputLength <= maxLength) {
             return cipher.doFinal(byteContent);
         }
 
-        // 开始分段加密，分段加密不可直接使用多线程进行cipher.doFinal方法，Cipher会维持一个内部状态，多线程会互相干扰
+        // 开始分段加密，分段加密不可直接使用多线程进行cipher.doFinal方法，Cipher会维持一个内部状态，多线程会互相干扰，并行加密见 RsaParallelSegmentProcessor
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         int offset = 0;
         byte[] cache;
@@ -256,29 +331,150 @@ public class CipherUtils {
     /**
      * 加密操作
      *
-     * @param content 待加密内容
+     * @param content 待加密字节数组
      * @param key     加密密钥
      * @param iv      偏移量
-     * @return 返回Base64转码后的加密数据
+     * @return 密文字节数组，未经过Base64转码
      */
-    public String encrypt(String content, String key, String iv) {
+    public byte[] encrypt(byte[] content, String key, String iv) {
+        return encrypt(content, key, iv, null);
+    }
+
+    /**
+     * 加密操作
+     *
+     * @param content 待加密字节数组，NO_PADDING算法时不能以0x00结尾
+     * @param key     加密密钥
+     * @param iv      偏移量，AEAD算法时忽略
+     * @param aad     附加认证数据，只有AEAD算法使用，可以为 null
+     * @return 密文字节数组，未经过Base64转码，AEAD算法时为 nonce + 密文 + 认证标签
+     */
+    public byte[] encrypt(byte[] content, String key, String iv, byte[] aad) {
+        if (cipherAlgorithmEnum.isAead()) {
+            return encryptAead(content, key, aad);
+        }
+        checkPaddingContent(content.length > 0 ? content[content.length - 1] : 1);
         try {
-            // 创建密码器
-            Cipher cipher = Cipher.getInstance(cipherAlgorithmEnum.getValue());
-            byte[] byteContent = content.getBytes(StandardCharsets.UTF_8);
-            // 初始化为加密模式的密码器，ECB模式不设置iv
-            if (StringUtils.hasText(iv)) {
-                IvParameterSpec ivParameterSpec = new IvParameterSpec(publicUtils.base642Byte(iv));
-                cipher.init(Cipher.ENCRYPT_MODE, getSecretKeySpec(key), ivParameterSpec);
-            } else {
-                cipher.init(Cipher.ENCRYPT_MODE, getSecretKeySpec(key));
-            }
-            // 处理补全字符数组
-            //byteContent = handlePadding(byteContent)
-            // 加密
-            byte[] result = cipher.doFinal(byteContent);
-            // 通过Base64转码返回
-            return publicUtils.byte2Base64(result);
+            // 从对象池获取已初始化的密码器，池中没有时才会创建并解析key、iv
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.ENCRYPT_MODE, key, iv);
+            Cipher cipher = CipherPool.borrow(poolKey, () -> createCipher(Cipher.ENCRYPT_MODE, key, iv));
+            // 处理补全字符数组，然后加密
+            byte[] result = cipher.doFinal(handlePadding(content));
+            CipherPool.release(poolKey, cipher);
+            return result;
+        } catch (Exception e) {
+            log.error("加密失败", e);
+            throw new SecureApiException(ErrorEnum.ENCRYPT_ERROR);
+        }
+    }
+
+    /**
+     * 加密操作，直接使用 ByteBuffer 读写，input 和 output 可以是 DirectByteBuffer
+     *
+     * @param input  待加密内容，从 position 读取到 limit，NO_PADDING算法时不能以0x00结尾
+     * @param output 密文写入的位置，剩余空间需要不小于 getOutputSize 的返回值
+     * @param key    加密密钥
+     * @param iv     偏移量
+     * @return 写入 output 的字节数
+     */
+    public int encrypt(ByteBuffer input, ByteBuffer output, String key, String iv) {
+        if (cipherAlgorithmEnum.isAead()) {
+            byte[] content = new byte[input.remaining()];
+            input.get(content);
+            byte[] result = encryptAead(content, key, null);
+            output.put(result);
+            return result.length;
+        }
+        checkPaddingContent(input.hasRemaining() ? input.get(input.limit() - 1) : 1);
+        try {
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.ENCRYPT_MODE, key, iv);
+            Cipher cipher = CipherPool.borrow(poolKey, () -> createCipher(Cipher.ENCRYPT_MODE, key, iv));
+            int length = cipher.doFinal(handlePadding(input), output);
+            CipherPool.release(poolKey, cipher);
+            return length;
+        } catch (Exception e) {
+            log.error("加密失败", e);
+            throw new SecureApiException(ErrorEnum.ENCRYPT_ERROR);
+        }
+    }
+
+    /**
+     * 流式加密操作，写入的明文边加密边做Base64编码后写入 base64Output
+     * 只支持对称加密的自动填充方案，返回的流关闭时才会写出最后一个分组，base64Output 也会被关闭
+     *
+     * @param base64Output 密文的输出流
+     * @param key          加密密钥
+     * @param iv           偏移量
+     * @return 明文的输出流
+     */
+    public OutputStream encrypt(OutputStream base64Output, String key, String iv) {
+        return encryptBinary(publicUtils.wrapBase64Encoder(base64Output), key, iv);
+    }
+
+    /**
+     * 流式加密操作，写入的明文边加密边写入 output，不做Base64编码，用于二进制传输
+     * 只支持对称加密的自动填充方案，返回的流关闭时才会写出最后一个分组，output 也会被关闭
+     *
+     * @param output 原始密文的输出流
+     * @param key    加密密钥
+     * @param iv     偏移量
+     * @return 明文的输出流
+     */
+    public OutputStream encryptBinary(OutputStream output, String key, String iv) {
+        checkStreamSupported(ErrorEnum.ENCRYPT_ERROR);
+        try {
+            // 借出的密码器会在流关闭后归还对象池
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.ENCRYPT_MODE, key, iv);
+            Cipher cipher = CipherPool.borrow(poolKey, () -> createCipher(Cipher.ENCRYPT_MODE, key, iv));
+            return new PooledCipherOutputStream(output, cipher, poolKey);
+        } catch (Exception e) {
+            log.error("获取加密流失败", e);
+            throw new SecureApiException(ErrorEnum.ENCRYPT_ERROR);
+        }
+    }
+
+    /**
+     * 计算加密或解密结果的最大字节长度，用于提前分配 ByteBuffer
+     *
+     * @param mode        Cipher.ENCRYPT_MODE 或 Cipher.DECRYPT_MODE
+     * @param inputLength 输入的字节长度
+     * @param key         密钥
+     * @param iv          偏移量
+     * @return 结果的最大字节长度
+     */
+    public int getOutputSize(int mode, int inputLength, String key, String iv) {
+        if (cipherAlgorithmEnum.isAead()) {
+            int overhead = cipherAlgorithmEnum.getIvLength() + AEAD_TAG_LENGTH;
+            return mode == Cipher.ENCRYPT_MODE ? inputLength + overhead : Math.max(inputLength - overhead, 0);
+        }
+        int fillLength = cipherAlgorithmEnum.getFillLength();
+        if (mode == Cipher.ENCRYPT_MODE && fillLength != 0 && inputLength % fillLength != 0) {
+            inputLength += fillLength - inputLength % fillLength;
+        }
+        try {
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), mode, key, iv);
+            Cipher cipher = CipherPool.borrow(poolKey, () -> createCipher(mode, key, iv));
+            int outputSize = cipher.getOutputSize(inputLength);
+            CipherPool.release(poolKey, cipher);
+            return outputSize;
+        } catch (Exception e) {
+            log.error("获取Cipher失败", e);
+            throw new SecureApiException(mode == Cipher.ENCRYPT_MODE ? ErrorEnum.ENCRYPT_ERROR : ErrorEnum.DECRYPT_ERROR);
+        }
+    }
+
+    /**
+     * AEAD 加密，每条消息随机生成 nonce 并放在密文开头
+     *
+     * @param content 待加密字节数组
+     * @param key     加密密钥
+     * @param aad     附加认证数据，可以为 null
+     * @return nonce + 密文 + 认证标签
+     */
+    private byte[] encryptAead(byte[] content, String key, byte[] aad) {
+        try {
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.ENCRYPT_MODE, key, null);
+            return aeadEncrypt(cipherAlgorithmEnum, poolKey, getSecretKeySpec(key), new byte[0], content, aad);
         } catch (Exception e) {
             log.error("加密失败", e);
             throw new SecureApiException(ErrorEnum.ENCRYPT_ERROR);
@@ -286,28 +482,350 @@ public class CipherUtils {
     }
 
     /**
-     * 处理补全明文字符数组
+     * AEAD 解密，从密文开头读取 nonce，认证标签校验失败（密文、nonce 或 aad 被篡改）时抛出异常
+     *
+     * @param content nonce + 密文 + 认证标签
+     * @param key     密钥
+     * @param aad     附加认证数据，需要和加密时相同，可以为 null
+     * @return 明文字节数组
+     */
+    private byte[] decryptAead(byte[] content, String key, byte[] aad) {
+        try {
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.DECRYPT_MODE, key, null);
+            return aeadDecrypt(cipherAlgorithmEnum, poolKey, getSecretKeySpec(key), content, 0, aad);
+        } catch (Exception e) {
+            log.error("解密失败，请检查加密key和解密key是否相同、密文和附加认证数据是否被篡改，密文：{}", publicUtils.byte2Base64(content), e);
+            throw new SecureApiException(ErrorEnum.DECRYPT_ERROR);
+        }
+    }
+
+    /**
+     * 每条消息随机生成 iv 并放在密文开头，格式和 AEAD 算法的 nonce + 密文 一致，同一个 key 需要加密多条消息时使用，例如分块加密响应
+     * AEAD 算法每条消息本来就使用随机 nonce，ECB 模式没有 iv，这两种情况和 encrypt 相同，RSA 时和 encrypt(content, key) 相同
+     *
+     * @param content 待加密字节数组
+     * @param key     加密密钥，RSA时为公钥
+     * @param aad     附加认证数据，只有AEAD算法使用，可以为 null
+     * @return iv + 密文，未经过Base64转码
+     */
+    public byte[] encryptRandomIv(byte[] content, String key, byte[] aad) {
+        if (KeyGenAlgorithmEnum.RSA == keyGenAlgorithmEnum) {
+            return encrypt(content, key);
+        }
+        if (cipherAlgorithmEnum.isAead() || !isIvMode()) {
+            return encrypt(content, key, null, aad);
+        }
+        checkPaddingContent(content.length > 0 ? content[content.length - 1] : 1);
+        try {
+            int ivLength = cipherAlgorithmEnum.getIvLength();
+            byte[] iv = new byte[ivLength];
+            NONCE_RANDOM.nextBytes(iv);
+            // 每条消息的 iv 都不同，池中只按 key 复用 Cipher 实例，借出后使用本条消息的 iv 重新初始化
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.ENCRYPT_MODE, key, RANDOM_IV);
+            Cipher cipher = CipherPool.borrow(poolKey, () -> Cipher.getInstance(cipherAlgorithmEnum.getValue()));
+            cipher.init(Cipher.ENCRYPT_MODE, getSecretKeySpec(key), new IvParameterSpec(iv));
+            byte[] paddedContent = handlePadding(content);
+            // 直接把密文写到 iv 后面，不需要再拼接数组
+            byte[] result = new byte[ivLength + cipher.getOutputSize(paddedContent.length)];
+            System.arraycopy(iv, 0, result, 0, ivLength);
+            int length = ivLength + cipher.doFinal(paddedContent, 0, paddedContent.length, result, ivLength);
+            CipherPool.release(poolKey, cipher);
+            return length == result.length ? result : Arrays.copyOf(result, length);
+        } catch (Exception e) {
+            log.error("加密失败", e);
+            throw new SecureApiException(ErrorEnum.ENCRYPT_ERROR);
+        }
+    }
+
+    /**
+     * 解密 encryptRandomIv 的结果，从密文开头读取 iv
+     *
+     * @param content iv + 密文
+     * @param key     密钥，RSA时为私钥
+     * @param aad     附加认证数据，需要和加密时相同，只有AEAD算法使用，可以为 null
+     * @return 明文字节数组
+     */
+    public byte[] decryptRandomIv(byte[] content, String key, byte[] aad) {
+        if (KeyGenAlgorithmEnum.RSA == keyGenAlgorithmEnum) {
+            return decrypt(content, key);
+        }
+        if (cipherAlgorithmEnum.isAead() || !isIvMode()) {
+            return decrypt(content, key, null, aad);
+        }
+        try {
+            int ivLength = cipherAlgorithmEnum.getIvLength();
+            if (content.length <= ivLength) {
+                throw new IllegalBlockSizeException("密文长度不足，缺少 iv 或密文");
+            }
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.DECRYPT_MODE, key, RANDOM_IV);
+            Cipher cipher = CipherPool.borrow(poolKey, () -> Cipher.getInstance(cipherAlgorithmEnum.getValue()));
+            cipher.init(Cipher.DECRYPT_MODE, getSecretKeySpec(key), new IvParameterSpec(content, 0, ivLength));
+            byte[] result = cipher.doFinal(content, ivLength, content.length - ivLength);
+            CipherPool.release(poolKey, cipher);
+            // 去除最后的补全字符
+            int length = getUnpaddedLength(result);
+            return length == result.length ? result : Arrays.copyOf(result, length);
+        } catch (Exception e) {
+            log.error("解密失败，请检查加密key和解密key是否相同，密文：{}", publicUtils.byte2Base64(content), e);
+            throw new SecureApiException(ErrorEnum.DECRYPT_ERROR);
+        }
+    }
+
+    /**
+     * 对称加密是否使用 iv，ECB 模式不使用
+     */
+    private boolean isIvMode() {
+        return !cipherAlgorithmEnum.getValue().contains("/ECB/");
+    }
+
+    /**
+     * RSA信封加密，每条消息随机生成一个数据密钥，明文使用AEAD算法加密，RSA只加密数据密钥，
+     * 大数据量时只需要一次RSA运算，请求和响应使用相同的格式：数据密钥密文长度(2字节) + 数据密钥密文 + nonce + 密文 + 认证标签
+     *
+     * @param content                 待加密字节数组
+     * @param publicKey               RSA公钥
+     * @param dataCipherAlgorithmEnum 加密明文使用的AEAD算法
+     * @param aad                     附加认证数据，可以为 null
+     * @return 信封格式的密文字节数组，未经过Base64转码
+     */
+    public byte[] encryptEnvelope(byte[] content, String publicKey, CipherAlgorithmEnum dataCipherAlgorithmEnum, byte[] aad) {
+        check(content, publicKey);
+        checkEnvelopeSupported(dataCipherAlgorithmEnum);
+        KeyGenAlgorithmEnum dataKeyGenEnum = dataCipherAlgorithmEnum.getKeyGenEnum();
+        byte[] dataKey = new byte[dataKeyGenEnum.getLength() / 8];
+        NONCE_RANDOM.nextBytes(dataKey);
+        byte[] wrappedKey = encryptRsa(dataKey, publicKey);
+        try {
+            byte[] header = new byte[ENVELOPE_KEY_LENGTH_SIZE + wrappedKey.length];
+            header[0] = (byte) (wrappedKey.length >>> 8);
+            header[1] = (byte) wrappedKey.length;
+            System.arraycopy(wrappedKey, 0, header, ENVELOPE_KEY_LENGTH_SIZE, wrappedKey.length);
+            // 每条消息的数据密钥都不同，池中只复用 Cipher 实例，不按 key 区分
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(dataCipherAlgorithmEnum.getValue(), Cipher.ENCRYPT_MODE, null, null);
+            return aeadEncrypt(dataCipherAlgorithmEnum, poolKey, new SecretKeySpec(dataKey, dataKeyGenEnum.getValue()), header, content, aad);
+        } catch (Exception e) {
+            log.error("RSA信封加密失败", e);
+            throw new SecureApiException(ErrorEnum.RSA_ENCRYPT_ERROR);
+        }
+    }
+
+    /**
+     * RSA信封解密，先用RSA私钥解密数据密钥，再用数据密钥解密明文
+     *
+     * @param content                 信封格式的密文字节数组，未经过Base64转码
+     * @param privateKey              RSA私钥
+     * @param dataCipherAlgorithmEnum 加密明文使用的AEAD算法，需要和加密时相同
+     * @param aad                     附加认证数据，需要和加密时相同，可以为 null
+     * @return 明文字节数组
+     */
+    public byte[] decryptEnvelope(byte[] content, String privateKey, CipherAlgorithmEnum dataCipherAlgorithmEnum, byte[] aad) {
+        check(content, privateKey);
+        checkEnvelopeSupported(dataCipherAlgorithmEnum);
+        int wrappedKeyLength = content.length < ENVELOPE_KEY_LENGTH_SIZE ? -1 : (content[0] & 0xFF) << 8 | content[1] & 0xFF;
+        if (wrappedKeyLength <= 0 || content.length < ENVELOPE_KEY_LENGTH_SIZE + wrappedKeyLength) {
+            log.error("RSA信封解密失败，密文格式错误，密文：{}", publicUtils.byte2Base64(content));
+            throw new SecureApiException(ErrorEnum.RSA_DECRYPT_ERROR);
+        }
+        KeyGenAlgorithmEnum dataKeyGenEnum = dataCipherAlgorithmEnum.getKeyGenEnum();
+        byte[] dataKey = decryptRsa(Arrays.copyOfRange(content, ENVELOPE_KEY_LENGTH_SIZE, ENVELOPE_KEY_LENGTH_SIZE + wrappedKeyLength), privateKey);
+        try {
+            if (dataKey.length != dataKeyGenEnum.getLength() / 8) {
+                throw new InvalidKeyException("数据密钥长度错误：" + dataKey.length);
+            }
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(dataCipherAlgorithmEnum.getValue(), Cipher.DECRYPT_MODE, null, null);
+            return aeadDecrypt(dataCipherAlgorithmEnum, poolKey, new SecretKeySpec(dataKey, dataKeyGenEnum.getValue()), content, ENVELOPE_KEY_LENGTH_SIZE + wrappedKeyLength, aad);
+        } catch (Exception e) {
+            log.error("RSA信封解密失败，请检查密文和附加认证数据是否被篡改，密文：{}", publicUtils.byte2Base64(content), e);
+            throw new SecureApiException(ErrorEnum.RSA_DECRYPT_ERROR);
+        }
+    }
+
+    /**
+     * RSA信封加密
+     *
+     * @param content                 待加密内容
+     * @param publicKey               RSA公钥
+     * @param dataCipherAlgorithmEnum 加密明文使用的AEAD算法
+     * @param aad                     附加认证数据，可以为 null
+     * @return 返回Base64转码后的加密数据
+     */
+    public String encryptEnvelope(String content, String publicKey, CipherAlgorithmEnum dataCipherAlgorithmEnum, byte[] aad) {
+        check(content, publicKey);
+        return publicUtils.byte2Base64(encryptEnvelope(content.getBytes(StandardCharsets.UTF_8), publicKey, dataCipherAlgorithmEnum, aad));
+    }
+
+    /**
+     * RSA信封解密
+     *
+     * @param content                 Base64形式的密文
+     * @param privateKey              RSA私钥
+     * @param dataCipherAlgorithmEnum 加密明文使用的AEAD算法，需要和加密时相同
+     * @param aad                     附加认证数据，需要和加密时相同，可以为 null
+     * @return 明文
+     */
+    public String decryptEnvelope(String content, String privateKey, CipherAlgorithmEnum dataCipherAlgorithmEnum, byte[] aad) {
+        check(content, privateKey);
+        return new String(decryptEnvelope(decodeCipherText(content), privateKey, dataCipherAlgorithmEnum, aad), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 信封模式只能由RSA算法使用，数据加密算法必须是AEAD算法
+     */
+    private void checkEnvelopeSupported(CipherAlgorithmEnum dataCipherAlgorithmEnum) {
+        if (KeyGenAlgorithmEnum.RSA != keyGenAlgorithmEnum || dataCipherAlgorithmEnum == null || !dataCipherAlgorithmEnum.isAead()) {
+            throw new SecureApiException(ErrorEnum.RSA_ENVELOPE_CONFIG_ERROR);
+        }
+    }
+
+    /**
+     * 使用AEAD算法加密，GCM 禁止同一个 key 重复使用 nonce，所以池中的密码器每次都要用新的 nonce 重新初始化
+     *
+     * @param aeadAlgorithmEnum AEAD算法
+     * @param poolKey           池的 key
+     * @param secretKeySpec     密钥
+     * @param header            写在 nonce 前面的内容，没有时为空数组
+     * @param content           待加密字节数组
+     * @param aad               附加认证数据，可以为 null
+     * @return header + nonce + 密文 + 认证标签
+     */
+    private static byte[] aeadEncrypt(CipherAlgorithmEnum aeadAlgorithmEnum, CipherPool.PoolKey poolKey, SecretKeySpec secretKeySpec, byte[] header, byte[] content, byte[] aad) throws GeneralSecurityException {
+        int nonceLength = aeadAlgorithmEnum.getIvLength();
+        byte[] nonce = new byte[nonceLength];
+        NONCE_RANDOM.nextBytes(nonce);
+        Cipher cipher = CipherPool.borrow(poolKey, () -> Cipher.getInstance(aeadAlgorithmEnum.getValue()));
+        cipher = initAeadCipher(aeadAlgorithmEnum, cipher, Cipher.ENCRYPT_MODE, secretKeySpec, getAeadParameterSpec(aeadAlgorithmEnum, nonce, 0, nonceLength));
+        if (aad != null) {
+            cipher.updateAAD(aad);
+        }
+        // 直接把密文写到 nonce 后面，不需要再拼接数组
+        int cipherTextOffset = header.length + nonceLength;
+        byte[] result = new byte[cipherTextOffset + cipher.getOutputSize(content.length)];
+        System.arraycopy(header, 0, result, 0, header.length);
+        System.arraycopy(nonce, 0, result, header.length, nonceLength);
+        int length = cipherTextOffset + cipher.doFinal(content, 0, content.length, result, cipherTextOffset);
+        CipherPool.release(poolKey, cipher);
+        return length == result.length ? result : Arrays.copyOf(result, length);
+    }
+
+    /**
+     * 使用AEAD算法解密
+     *
+     * @param aeadAlgorithmEnum AEAD算法
+     * @param poolKey           池的 key
+     * @param secretKeySpec     密钥
+     * @param content           密文字节数组
+     * @param offset            nonce 开始位置
+     * @param aad               附加认证数据，需要和加密时相同，可以为 null
+     * @return 明文字节数组
+     */
+    private static byte[] aeadDecrypt(CipherAlgorithmEnum aeadAlgorithmEnum, CipherPool.PoolKey poolKey, SecretKeySpec secretKeySpec, byte[] content, int offset, byte[] aad) throws GeneralSecurityException {
+        int nonceLength = aeadAlgorithmEnum.getIvLength();
+        if (content.length - offset < nonceLength + AEAD_TAG_LENGTH) {
+            throw new AEADBadTagException("密文长度不足，缺少 nonce 或认证标签");
+        }
+        Cipher cipher = CipherPool.borrow(poolKey, () -> Cipher.getInstance(aeadAlgorithmEnum.getValue()));
+        cipher = initAeadCipher(aeadAlgorithmEnum, cipher, Cipher.DECRYPT_MODE, secretKeySpec, getAeadParameterSpec(aeadAlgorithmEnum, content, offset, nonceLength));
+        if (aad != null) {
+            cipher.updateAAD(aad);
+        }
+        int cipherTextOffset = offset + nonceLength;
+        byte[] result = cipher.doFinal(content, cipherTextOffset, content.length - cipherTextOffset);
+        CipherPool.release(poolKey, cipher);
+        return result;
+    }
+
+    /**
+     * 使用本条消息的 nonce 初始化池中借出的 AEAD 密码器
+     * JDK 的 ChaCha20-Poly1305 解密模式下也拒绝和上一次相同的 key、nonce，同一条密文被重复解密时换一个新的密码器
+     *
+     * @return 已初始化的密码器，可能不是传入的那个
+     */
+    private static Cipher initAeadCipher(CipherAlgorithmEnum aeadAlgorithmEnum, Cipher cipher, int mode, SecretKeySpec secretKeySpec, AlgorithmParameterSpec parameterSpec) throws GeneralSecurityException {
+        try {
+            cipher.init(mode, secretKeySpec, parameterSpec);
+            return cipher;
+        } catch (InvalidKeyException e) {
+            Cipher newCipher = Cipher.getInstance(aeadAlgorithmEnum.getValue());
+            newCipher.init(mode, secretKeySpec, parameterSpec);
+            return newCipher;
+        }
+    }
+
+    /**
+     * AEAD 的 nonce 参数，ChaCha20-Poly1305 使用 IvParameterSpec，GCM 使用 GCMParameterSpec
+     */
+    private static AlgorithmParameterSpec getAeadParameterSpec(CipherAlgorithmEnum aeadAlgorithmEnum, byte[] nonce, int offset, int length) {
+        if (KeyGenAlgorithmEnum.CHACHA20 == aeadAlgorithmEnum.getKeyGenEnum()) {
+            return new IvParameterSpec(nonce, offset, length);
+        }
+        return new GCMParameterSpec(AEAD_TAG_LENGTH * 8, nonce, offset, length);
+    }
+
+    /**
+     * 处理补全明文字符数组，NO_PADDING模式下使用0x00补全到fillLength的倍数，解密时去除末尾的0x00即可，不需要保存任何状态
+     * 只有明文不以0x00结尾时去除补全字符才不会误删明文，UTF-8文本和json满足这个条件，压缩后的数据等二进制内容不满足，加密前由 checkPaddingContent 拒绝
      *
      * @param byteContent 要加密的字符数组
      * @return 补全后的字符数组
      */
     private byte[] handlePadding(byte[] byteContent) {
-        if (byteContent == null || byteContent.length == 0 || cipherAlgorithmEnum.getFillLength() == 0 || byteContent.length % cipherAlgorithmEnum.getFillLength() == 0) {
-            //不需要补全，则清除补全字符串，防止解密污染
-            paddingString = "";
+        int fillLength = cipherAlgorithmEnum.getFillLength();
+        if (fillLength == 0 || byteContent.length % fillLength == 0) {
             return byteContent;
         }
         // 要补全的长度
-        int paddingSize = cipherAlgorithmEnum.getFillLength() - byteContent.length % cipherAlgorithmEnum.getFillLength();
-        // 把原数组copy一份
-        byte[] finalByteContent = Arrays.copyOf(byteContent, byteContent.length + paddingSize);
-        // 生成要补全长度的英文字符串
-        paddingString = getRandomString(paddingSize, null);
-        byte[] bytes = paddingString.getBytes(StandardCharsets.UTF_8);
-        // 合并数组
-        System.arraycopy(bytes, 0, finalByteContent, byteContent.length, bytes.length);
-        log.info("明文byte长度不符合要求，且加密模式为NO_PADDING，使用随机字符串自动补全，随机字符串：{}", paddingString);
-        return finalByteContent;
+        int paddingSize = fillLength - byteContent.length % fillLength;
+        // Arrays.copyOf会用0x00填充新增的长度
+        return Arrays.copyOf(byteContent, byteContent.length + paddingSize);
+    }
+
+    /**
+     * NO_PADDING模式下拒绝以0x00结尾的明文，这样的明文解密时末尾的0x00会被当作补全字符去除，无法还原
+     *
+     * @param lastByte 明文的最后一个字节，明文为空时传入非0值
+     */
+    private void checkPaddingContent(byte lastByte) {
+        if (cipherAlgorithmEnum.getFillLength() != 0 && lastByte == 0) {
+            log.error("{} 使用0x00补全，不能加密以0x00结尾的明文", cipherAlgorithmEnum);
+            throw new SecureApiException(ErrorEnum.NO_PADDING_CONTENT_ERROR);
+        }
+    }
+
+    /**
+     * 处理补全明文 ByteBuffer，规则同 handlePadding(byte[])
+     *
+     * @param input 要加密的 ByteBuffer
+     * @return 补全后的 ByteBuffer
+     */
+    private ByteBuffer handlePadding(ByteBuffer input) {
+        int fillLength = cipherAlgorithmEnum.getFillLength();
+        int remaining = input.remaining();
+        if (fillLength == 0 || remaining % fillLength == 0) {
+            return input;
+        }
+        int paddingSize = fillLength - remaining % fillLength;
+        // 新分配的 ByteBuffer 默认就是0x00
+        ByteBuffer paddedInput = ByteBuffer.allocate(remaining + paddingSize);
+        paddedInput.put(input);
+        paddedInput.rewind();
+        return paddedInput;
+    }
+
+    /**
+     * 计算去除NO_PADDING模式补全的0x00后的明文长度
+     *
+     * @param byteContent 解密后的字符数组
+     * @return 明文长度
+     */
+    private int getUnpaddedLength(byte[] byteContent) {
+        int length = byteContent.length;
+        if (cipherAlgorithmEnum.getFillLength() == 0) {
+            return length;
+        }
+        while (length > 0 && byteContent[length - 1] == 0) {
+            length--;
+        }
+        return length;
     }
 
     /**
@@ -318,6 +836,43 @@ public class CipherUtils {
      * @return 解密结果
      */
     public String decrypt(String content, String key) {
+        check(content, key);
+        return new String(decrypt(decodeCipherText(content), key), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 解密操作
+     *
+     * @param content 解密内容
+     * @param key     密钥
+     * @param iv      偏移量
+     * @return 解密结果
+     */
+    public String decrypt(String content, String key, String iv) {
+        return decrypt(content, key, iv, null);
+    }
+
+    /**
+     * 解密操作
+     *
+     * @param content 解密内容
+     * @param key     密钥
+     * @param iv      偏移量，AEAD算法时忽略
+     * @param aad     附加认证数据，需要和加密时相同，只有AEAD算法使用，可以为 null
+     * @return 解密结果
+     */
+    public String decrypt(String content, String key, String iv, byte[] aad) {
+        return new String(decrypt(decodeCipherText(content), key, iv, aad), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 解密操作
+     *
+     * @param content 密文字节数组，未经过Base64转码
+     * @param key     密钥，RSA算法时为私钥
+     * @return 明文字节数组
+     */
+    public byte[] decrypt(byte[] content, String key) {
         check(content, key);
         return switch (keyGenAlgorithmEnum) {
             case RSA -> decryptRsa(content, key);
@@ -328,28 +883,111 @@ public class CipherUtils {
     /**
      * 解密操作
      *
-     * @param content 解密内容
+     * @param content 密文字节数组，未经过Base64转码
      * @param key     密钥
      * @param iv      偏移量
-     * @return 解密结果
+     * @return 明文字节数组
      */
-    public String decrypt(String content, String key, String iv) {
+    public byte[] decrypt(byte[] content, String key, String iv) {
+        return decrypt(content, key, iv, null);
+    }
+
+    /**
+     * 解密操作
+     *
+     * @param content 密文字节数组，未经过Base64转码，AEAD算法时为 nonce + 密文 + 认证标签
+     * @param key     密钥
+     * @param iv      偏移量，AEAD算法时忽略
+     * @param aad     附加认证数据，需要和加密时相同，只有AEAD算法使用，可以为 null
+     * @return 明文字节数组
+     */
+    public byte[] decrypt(byte[] content, String key, String iv, byte[] aad) {
+        if (cipherAlgorithmEnum.isAead()) {
+            return decryptAead(content, key, aad);
+        }
         try {
-            // 实例化
-            Cipher cipher = Cipher.getInstance(cipherAlgorithmEnum.getValue());
-            // 使用密钥初始化，设置为解密模式，ECB模式不设置iv
-            if (StringUtils.hasText(iv)) {
-                IvParameterSpec ivParameterSpec = new IvParameterSpec(publicUtils.base642Byte(iv));
-                cipher.init(Cipher.DECRYPT_MODE, getSecretKeySpec(key), ivParameterSpec);
-            } else {
-                cipher.init(Cipher.DECRYPT_MODE, getSecretKeySpec(key));
-            }
+            // 从对象池获取已初始化的密码器，池中没有时才会创建并解析key、iv
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.DECRYPT_MODE, key, iv);
+            Cipher cipher = CipherPool.borrow(poolKey, () -> createCipher(Cipher.DECRYPT_MODE, key, iv));
             // 执行操作
-            byte[] result = cipher.doFinal(publicUtils.base642Byte(content));
-            // 去除最后匹配到的补全字符
-            return new String(result, StandardCharsets.UTF_8).replaceAll(paddingString + "$", "");
+            byte[] result = cipher.doFinal(content);
+            CipherPool.release(poolKey, cipher);
+            // 去除最后的补全字符
+            int length = getUnpaddedLength(result);
+            return length == result.length ? result : Arrays.copyOf(result, length);
+        } catch (Exception e) {
+            log.error("解密失败，请检查加密key和解密key是否相同，密文：{}", publicUtils.byte2Base64(content), e);
+            throw new SecureApiException(ErrorEnum.DECRYPT_ERROR);
+        }
+    }
+
+    /**
+     * 解密操作，直接使用 ByteBuffer 读写，input 和 output 可以是 DirectByteBuffer
+     *
+     * @param input  密文，从 position 读取到 limit
+     * @param output 明文写入的位置，剩余空间需要不小于 getOutputSize 的返回值
+     * @param key    密钥
+     * @param iv     偏移量
+     * @return 写入 output 的明文字节数
+     */
+    public int decrypt(ByteBuffer input, ByteBuffer output, String key, String iv) {
+        if (cipherAlgorithmEnum.isAead()) {
+            byte[] content = new byte[input.remaining()];
+            input.get(content);
+            byte[] result = decryptAead(content, key, null);
+            output.put(result);
+            return result.length;
+        }
+        try {
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.DECRYPT_MODE, key, iv);
+            Cipher cipher = CipherPool.borrow(poolKey, () -> createCipher(Cipher.DECRYPT_MODE, key, iv));
+            int start = output.position();
+            int length = cipher.doFinal(input, output);
+            CipherPool.release(poolKey, cipher);
+            // 去除最后的补全字符
+            if (cipherAlgorithmEnum.getFillLength() != 0) {
+                while (length > 0 && output.get(start + length - 1) == 0) {
+                    length--;
+                }
+                output.position(start + length);
+            }
+            return length;
+        } catch (Exception e) {
+            log.error("解密失败，请检查加密key和解密key是否相同", e);
+            throw new SecureApiException(ErrorEnum.DECRYPT_ERROR);
+        }
+    }
+
+    /**
+     * 流式解密操作，边读取边做Base64解码和解密，内存占用不随密文大小增长
+     * 只支持对称加密的自动填充方案，NO_PADDING需要读到末尾才能去除补全字符，RSA需要按分组解密
+     *
+     * @param base64Input Base64编码的密文流
+     * @param key         密钥
+     * @param iv          偏移量
+     * @return 明文流
+     */
+    public InputStream decrypt(InputStream base64Input, String key, String iv) {
+        return decryptBinary(publicUtils.wrapBase64Decoder(base64Input), key, iv);
+    }
+
+    /**
+     * 流式解密操作，input 是未经过Base64编码的原始密文，用于二进制传输
+     *
+     * @param input 原始密文流
+     * @param key   密钥
+     * @param iv    偏移量
+     * @return 明文流
+     */
+    public InputStream decryptBinary(InputStream input, String key, String iv) {
+        checkStreamSupported(ErrorEnum.DECRYPT_ERROR);
+        try {
+            // 借出的密码器会在流读到末尾后归还对象池
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.DECRYPT_MODE, key, iv);
+            Cipher cipher = CipherPool.borrow(poolKey, () -> createCipher(Cipher.DECRYPT_MODE, key, iv));
+            return new PooledCipherInputStream(input, cipher, poolKey);
         } catch (Exception e) {
-            log.error("解密失败，请检查加密key和解密key是否相同，密文：{}", content, e);
+            log.error("获取解密流失败，请检查解密key", e);
             throw new SecureApiException(ErrorEnum.DECRYPT_ERROR);
         }
     }
@@ -357,41 +995,44 @@ public class CipherUtils {
     /**
      * 解密操作
      *
-     * @param content 解密内容
+     * @param content 密文
      * @param key     密钥
-     * @return 解密结果
+     * @return 明文字节数组
      */
-    private String decryptRsa(String content, String key) {
+    private byte[] decryptRsa(byte[] content, String key) {
         try {
-            // 实例化密钥器
-            Cipher cipher = Cipher.getInstance(cipherAlgorithmEnum.getValue());
-            // 使用密钥初始化，设置为解密模式
-            PrivateKey priKey = KeyFactory.getInstance(keyGenAlgorithmEnum.getValue()).generatePrivate(new PKCS8EncodedKeySpec(publicUtils.base642Byte(key)));
-            cipher.init(Cipher.DECRYPT_MODE, priKey);
+            // 从对象池获取已初始化的密钥器，池中没有时才会创建并解析私钥
+            CipherPool.PoolKey poolKey = new CipherPool.PoolKey(cipherAlgorithmEnum.getValue(), Cipher.DECRYPT_MODE, key, null);
+            // 分段较多时并行解密，每个线程使用自己的密码器
+            int segmentLength = keyGenAlgorithmEnum.getLength() / 8;
+            if (RsaParallelSegmentProcessor.isParallel(RsaParallelSegmentProcessor.getBlockCount(content.length, segmentLength))) {
+                return RsaParallelSegmentProcessor.decrypt(content, segmentLength, poolKey, () -> createRsaCipher(Cipher.DECRYPT_MODE, key));
+            }
+            Cipher cipher = CipherPool.borrow(poolKey, () -> createRsaCipher(Cipher.DECRYPT_MODE, key));
             // 执行操作
             byte[] result = rsaGroupDecrypt(content, cipher);
-            return new String(result, StandardCharsets.UTF_8);
+            CipherPool.release(poolKey, cipher);
+            return result;
         } catch (Exception e) {
-            log.error("RSA解密失败，请检查公钥和私钥匹配情况，密文：{}", content, e);
+            log.error("RSA解密失败，请检查公钥和私钥匹配情况，密文：{}", publicUtils.byte2Base64(content), e);
             throw new SecureApiException(ErrorEnum.RSA_DECRYPT_ERROR);
         }
     }
 
     /**
      * 判断是否需要分组操作
-     * @param content 密文
+     * @param byteContent 密文
      * @param cipher 密钥器
      * @return 明文字节数组
      */
-    private byte[] rsaGroupDecrypt(String content, Cipher cipher) throws IllegalBlockSizeException, BadPaddingException, IOException {
-        byte[] byteContent = publicUtils.base642Byte(content);
+    private byte[] rsaGroupDecrypt(byte[] byteContent, Cipher cipher) throws IllegalBlockSizeException, BadPaddingException, IOException {
         int inputLength = byteContent.length;
         int maxLength = keyGenAlgorithmEnum.getLength() / 8;
         if (inputLength <= maxLength) {
             return cipher.doFinal(byteContent);
         }
 
-        // 开始分段解密，分段加密不可直接使用多线程进行cipher.doFinal方法，Cipher会维持一个内部状态，多线程会互相干扰
+        // 开始分段解密，分段加密不可直接使用多线程进行cipher.doFinal方法，Cipher会维持一个内部状态，多线程会互相干扰，并行解密见 RsaParallelSegmentProcessor
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         int offset = 0;
         byte[] cache;
@@ -407,6 +1048,99 @@ public class CipherUtils {
         return byteArray;
     }
 
+    /**
+     * 字节数组转Base64编码，结果直接是字节数组，省去转换为String的过程
+     *
+     * @param bytes 字节数组
+     * @return Base64编码后的字节数组
+     */
+    public byte[] encodeBase64(byte[] bytes) {
+        return publicUtils.byte2Base64Bytes(bytes);
+    }
+
+    /**
+     * Base64编码的字节数组转为原始字节数组，可以只解码其中一段，省去截取数组的过程
+     *
+     * @param base64Bytes Base64编码的字节数组
+     * @param offset      开始位置
+     * @param length      长度
+     * @return 原始字节数组
+     */
+    public byte[] decodeBase64(byte[] base64Bytes, int offset, int length) {
+        try {
+            return publicUtils.base642Byte(base64Bytes, offset, length);
+        } catch (IllegalArgumentException e) {
+            log.error("密文不是合法的Base64编码", e);
+            throw new SecureApiException(getDecryptErrorEnum());
+        }
+    }
+
+    /**
+     * Base64形式的密文转为字节数组
+     *
+     * @param content Base64形式的密文
+     * @return 密文字节数组
+     */
+    private byte[] decodeCipherText(String content) {
+        try {
+            return publicUtils.base642Byte(content);
+        } catch (IllegalArgumentException e) {
+            log.error("密文不是合法的Base64编码，密文：{}", content, e);
+            throw new SecureApiException(getDecryptErrorEnum());
+        }
+    }
+
+    /**
+     * AEAD 的密文开头是 nonce，不能直接使用 CipherInputStream/CipherOutputStream 处理
+     */
+    private void checkStreamSupported(ErrorEnum errorEnum) {
+        if (cipherAlgorithmEnum.isAead()) {
+            log.error("{} 不支持流式加解密", cipherAlgorithmEnum);
+            throw new SecureApiException(errorEnum);
+        }
+    }
+
+    private ErrorEnum getDecryptErrorEnum() {
+        return KeyGenAlgorithmEnum.RSA == keyGenAlgorithmEnum ? ErrorEnum.RSA_DECRYPT_ERROR : ErrorEnum.DECRYPT_ERROR;
+    }
+
+    /**
+     * 创建并初始化对称加密的密码器，ECB模式不设置iv
+     *
+     * @param mode 加密或解密模式
+     * @param key  密钥
+     * @param iv   偏移量
+     * @return 已初始化的密码器
+     */
+    private Cipher createCipher(int mode, String key, String iv) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(cipherAlgorithmEnum.getValue());
+        if (StringUtils.hasText(iv)) {
+            IvParameterSpec ivParameterSpec = new IvParameterSpec(publicUtils.base642Byte(iv));
+            cipher.init(mode, getSecretKeySpec(key), ivParameterSpec);
+        } else {
+            cipher.init(mode, getSecretKeySpec(key));
+        }
+        return cipher;
+    }
+
+    /**
+     * 创建并初始化RSA密码器，加密使用公钥，解密使用私钥
+     *
+     * @param mode 加密或解密模式
+     * @param key  加密时为公钥，解密时为私钥
+     * @return 已初始化的密码器
+     */
+    private Cipher createRsaCipher(int mode, String key) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(cipherAlgorithmEnum.getValue());
+        // 从缓存获取已解析的密钥对象，避免重复解析
+        if (mode == Cipher.ENCRYPT_MODE) {
+            cipher.init(mode, KeyCache.getPublicKey(keyGenAlgorithmEnum.getValue(), key, publicUtils::base642Byte));
+        } else {
+            cipher.init(mode, KeyCache.getPrivateKey(keyGenAlgorithmEnum.getValue(), key, publicUtils::base642Byte));
+        }
+        return cipher;
+    }
+
     /**
      * 获取SecretKeySpec
      *
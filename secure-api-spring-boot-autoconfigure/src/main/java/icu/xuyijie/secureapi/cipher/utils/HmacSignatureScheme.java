@@ -0,0 +1,65 @@
+package icu.xuyijie.secureapi.cipher.utils;
+
+import icu.xuyijie.secureapi.cipher.enums.SignatureAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.model.RsaKeyPair;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 21:05
+ * @description 使用 Mac 的对称签名方案，签名和验签使用同一个共享密钥，验签时使用常量时间比较
+ */
+final class HmacSignatureScheme implements SignatureScheme {
+    private final SignatureAlgorithmEnum signatureAlgorithmEnum;
+    private final PublicUtils publicUtils;
+
+    HmacSignatureScheme(SignatureAlgorithmEnum signatureAlgorithmEnum, PublicUtils publicUtils) {
+        this.signatureAlgorithmEnum = signatureAlgorithmEnum;
+        this.publicUtils = publicUtils;
+    }
+
+    @Override
+    public RsaKeyPair generateKeyPair(String seed) {
+        byte[] secret = new byte[signatureAlgorithmEnum.getSecretLength()];
+        publicUtils.getSecureRandom(seed).nextBytes(secret);
+        String base64Secret = publicUtils.byte2Base64(secret);
+        return new RsaKeyPair(base64Secret, base64Secret);
+    }
+
+    @Override
+    public SignatureOperation initSign(String base64PrivateKey) throws GeneralSecurityException {
+        return new MacOperation(initMac(base64PrivateKey));
+    }
+
+    @Override
+    public SignatureOperation initVerify(String base64PublicKey) throws GeneralSecurityException {
+        return new MacOperation(initMac(base64PublicKey));
+    }
+
+    private Mac initMac(String base64Secret) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(signatureAlgorithmEnum.getValue());
+        mac.init(new SecretKeySpec(publicUtils.base642Byte(base64Secret), signatureAlgorithmEnum.getKeyAlgorithm()));
+        return mac;
+    }
+
+    private record MacOperation(Mac mac) implements SignatureOperation {
+        @Override
+        public void update(byte[] data, int offset, int length) {
+            mac.update(data, offset, length);
+        }
+
+        @Override
+        public byte[] sign() {
+            return mac.doFinal();
+        }
+
+        @Override
+        public boolean verify(byte[] signed) {
+            return MessageDigest.isEqual(mac.doFinal(), signed);
+        }
+    }
+}
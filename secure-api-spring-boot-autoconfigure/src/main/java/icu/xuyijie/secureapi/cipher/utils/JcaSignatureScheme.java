@@ -0,0 +1,64 @@
+package icu.xuyijie.secureapi.cipher.utils;
+
+import icu.xuyijie.secureapi.cipher.enums.SignatureAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.model.RsaKeyPair;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.SignatureException;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 21:05
+ * @description 使用 Signature 的非对称签名方案，RSA、Ed25519、ECDSA P-256，公钥为 X.509 编码，私钥为 PKCS#8 编码
+ */
+final class JcaSignatureScheme implements SignatureScheme {
+    private final SignatureAlgorithmEnum signatureAlgorithmEnum;
+    private final PublicUtils publicUtils;
+
+    JcaSignatureScheme(SignatureAlgorithmEnum signatureAlgorithmEnum, PublicUtils publicUtils) {
+        this.signatureAlgorithmEnum = signatureAlgorithmEnum;
+        this.publicUtils = publicUtils;
+    }
+
+    @Override
+    public RsaKeyPair generateKeyPair(String seed) throws GeneralSecurityException {
+        KeyPairGenerator keyPairGen = KeyPairGenerator.getInstance(signatureAlgorithmEnum.getKeyAlgorithm());
+        keyPairGen.initialize(signatureAlgorithmEnum.getKeyGenParameterSpec(), publicUtils.getSecureRandom(seed));
+        KeyPair keyPair = keyPairGen.generateKeyPair();
+        return publicUtils.getRsaKeyPairByKeyPair(keyPair);
+    }
+
+    @Override
+    public SignatureOperation initSign(String base64PrivateKey) throws GeneralSecurityException {
+        Signature signature = signatureAlgorithmEnum.newSignature();
+        signature.initSign(KeyCache.getPrivateKey(signatureAlgorithmEnum.getKeyAlgorithm(), base64PrivateKey, publicUtils::base642Byte));
+        return new SignatureOperationImpl(signature);
+    }
+
+    @Override
+    public SignatureOperation initVerify(String base64PublicKey) throws GeneralSecurityException {
+        Signature signature = signatureAlgorithmEnum.newSignature();
+        signature.initVerify(KeyCache.getPublicKey(signatureAlgorithmEnum.getKeyAlgorithm(), base64PublicKey, publicUtils::base642Byte));
+        return new SignatureOperationImpl(signature);
+    }
+
+    private record SignatureOperationImpl(Signature signature) implements SignatureOperation {
+        @Override
+        public void update(byte[] data, int offset, int length) throws SignatureException {
+            signature.update(data, offset, length);
+        }
+
+        @Override
+        public byte[] sign() throws SignatureException {
+            return signature.sign();
+        }
+
+        @Override
+        public boolean verify(byte[] signed) throws SignatureException {
+            return signature.verify(signed);
+        }
+    }
+}
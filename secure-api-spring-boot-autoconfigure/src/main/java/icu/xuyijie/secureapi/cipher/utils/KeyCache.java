@@ -0,0 +1,97 @@
+package icu.xuyijie.secureapi.cipher.utils;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 11:03
+ * @description 已解析的公钥、私钥对象缓存，避免每次请求都执行 KeyFactory 解析 ASN.1 密钥
+ */
+public final class KeyCache {
+    private KeyCache() {
+
+    }
+
+    /**
+     * 最多缓存的密钥数量，超过后清空重新缓存
+     */
+    private static final int MAX_CACHE_SIZE = 256;
+
+    private static final Map<CacheKey, PublicKey> PUBLIC_KEY_CACHE = new ConcurrentHashMap<>();
+    private static final Map<CacheKey, PrivateKey> PRIVATE_KEY_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存的 key
+     *
+     * @param algorithm 密钥算法，如 RSA
+     * @param base64Key base64 形式的密钥
+     */
+    private record CacheKey(String algorithm, String base64Key) {
+    }
+
+    /**
+     * 获取已解析的公钥，不存在时解析并缓存
+     *
+     * @param algorithm 密钥算法
+     * @param base64Key base64 形式的公钥
+     * @param base64Decoder base64 解码方法
+     * @return PublicKey
+     */
+    static PublicKey getPublicKey(String algorithm, String base64Key, Function<String, byte[]> base64Decoder) throws GeneralSecurityException {
+        CacheKey cacheKey = new CacheKey(algorithm, base64Key);
+        PublicKey publicKey = PUBLIC_KEY_CACHE.get(cacheKey);
+        if (publicKey == null) {
+            publicKey = KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(base64Decoder.apply(base64Key)));
+            checkSize(PUBLIC_KEY_CACHE);
+            PUBLIC_KEY_CACHE.put(cacheKey, publicKey);
+        }
+        return publicKey;
+    }
+
+    /**
+     * 获取已解析的私钥，不存在时解析并缓存
+     *
+     * @param algorithm 密钥算法
+     * @param base64Key base64 形式的私钥
+     * @param base64Decoder base64 解码方法
+     * @return PrivateKey
+     */
+    static PrivateKey getPrivateKey(String algorithm, String base64Key, Function<String, byte[]> base64Decoder) throws GeneralSecurityException {
+        CacheKey cacheKey = new CacheKey(algorithm, base64Key);
+        PrivateKey privateKey = PRIVATE_KEY_CACHE.get(cacheKey);
+        if (privateKey == null) {
+            privateKey = KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(base64Decoder.apply(base64Key)));
+            checkSize(PRIVATE_KEY_CACHE);
+            PRIVATE_KEY_CACHE.put(cacheKey, privateKey);
+        }
+        return privateKey;
+    }
+
+    private static void checkSize(Map<CacheKey, ?> cache) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 密钥变更后移除旧密钥的缓存，以及使用旧密钥初始化的 Cipher
+     *
+     * @param base64Key base64 形式的旧密钥
+     */
+    public static void invalidate(String base64Key) {
+        if (base64Key == null) {
+            return;
+        }
+        PUBLIC_KEY_CACHE.keySet().removeIf(cacheKey -> base64Key.equals(cacheKey.base64Key()));
+        PRIVATE_KEY_CACHE.keySet().removeIf(cacheKey -> base64Key.equals(cacheKey.base64Key()));
+        CipherPool.invalidate(base64Key);
+    }
+}
@@ -0,0 +1,50 @@
+package icu.xuyijie.secureapi.cipher.utils;
+
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 14:20
+ * @description 从对象池借出 Cipher 的解密流，读到末尾且 doFinal 成功后把 Cipher 归还对象池，中途失败或提前关闭的 Cipher 直接丢弃
+ */
+class PooledCipherInputStream extends CipherInputStream {
+    private final CipherPool.PoolKey poolKey;
+    private Cipher cipher;
+
+    PooledCipherInputStream(InputStream inputStream, Cipher cipher, CipherPool.PoolKey poolKey) {
+        super(inputStream, cipher);
+        this.cipher = cipher;
+        this.poolKey = poolKey;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b == -1) {
+            release();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int length = super.read(b, off, len);
+        if (length == -1) {
+            release();
+        }
+        return length;
+    }
+
+    /**
+     * 返回 -1 说明 doFinal 已经执行成功，Cipher 已重置为 init 时的状态
+     */
+    private void release() {
+        if (cipher != null) {
+            CipherPool.release(poolKey, cipher);
+            cipher = null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package icu.xuyijie.secureapi.cipher.utils;
+
+import javax.crypto.Cipher;
+import javax.crypto.CipherOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 15:05
+ * @description 从对象池借出 Cipher 的加密流，关闭时 doFinal 成功后把 Cipher 归还对象池，失败的 Cipher 直接丢弃
+ */
+class PooledCipherOutputStream extends CipherOutputStream {
+    private final CipherPool.PoolKey poolKey;
+    private Cipher cipher;
+
+    PooledCipherOutputStream(OutputStream outputStream, Cipher cipher, CipherPool.PoolKey poolKey) {
+        super(outputStream, cipher);
+        this.cipher = cipher;
+        this.poolKey = poolKey;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (cipher == null) {
+            return;
+        }
+        super.close();
+        // 走到这里说明 doFinal 已经执行成功，Cipher 已重置为 init 时的状态
+        CipherPool.release(poolKey, cipher);
+        cipher = null;
+    }
+}
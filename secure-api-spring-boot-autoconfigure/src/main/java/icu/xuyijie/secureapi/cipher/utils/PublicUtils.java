@@ -6,11 +6,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
 import java.util.Base64;
 
 /**
@@ -87,60 +88,73 @@ class PublicUtils {
 
 
     /**
-     * base64 形式的 RSA 私钥转换为 PrivateKey 对象
+     * 字节数组转Base64编码
      *
-     * @param base64Key base64 形式的 RSA 私钥
+     * @param bytes 字节数组
+     * @return Base64
      */
-    public PrivateKey getPrivateKeyFromBase64(String base64Key) {
-        // 1. 解码Base64字符串为字节数组
-        byte[] decodedKey = base642Byte(base64Key);
-
-        // 2. 创建PKCS8EncodedKeySpec对象
-        PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(decodedKey);
-
-        // 3. 获取KeyFactory实例并生成PrivateKey
-        try {
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            return keyFactory.generatePrivate(keySpec);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            log.error("base64私钥转换为PrivateKey失败", e);
+    public String byte2Base64(byte[] bytes) {
+        if (isUrlSafe) {
+            return Base64.getUrlEncoder().encodeToString(bytes);
+        } else {
+            return Base64.getEncoder().encodeToString(bytes);
         }
-        return null;
     }
 
     /**
-     * base64 形式的 RSA 公钥转换为 PublicKey 对象
+     * 字节数组转Base64编码的字节数组
      *
-     * @param base64Key base64 形式的 RSA 公钥
+     * @param bytes 字节数组
+     * @return Base64编码的字节数组
      */
-    public PublicKey getPublicKeyFromBase64(String base64Key) {
-        // 1. 解码Base64字符串为字节数组
-        byte[] decodedKey = base642Byte(base64Key);
+    public byte[] byte2Base64Bytes(byte[] bytes) {
+        if (isUrlSafe) {
+            return Base64.getUrlEncoder().encode(bytes);
+        } else {
+            return Base64.getEncoder().encode(bytes);
+        }
+    }
 
-        // 2. 创建X509EncodedKeySpec对象
-        X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decodedKey);
+    /**
+     * Base64编码的字节数组转原始字节数组
+     *
+     * @param base64Bytes Base64编码的字节数组
+     * @param offset 开始位置
+     * @param length 长度
+     * @return 字节数组
+     */
+    public byte[] base642Byte(byte[] base64Bytes, int offset, int length) {
+        ByteBuffer base64Buffer = ByteBuffer.wrap(base64Bytes, offset, length);
+        ByteBuffer buffer = isUrlSafe ? Base64.getUrlDecoder().decode(base64Buffer) : Base64.getDecoder().decode(base64Buffer);
+        byte[] bytes = buffer.array();
+        return buffer.remaining() == bytes.length ? bytes : Arrays.copyOfRange(bytes, buffer.position(), buffer.limit());
+    }
 
-        // 3. 获取KeyFactory实例并生成PublicKey
-        try {
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            return keyFactory.generatePublic(keySpec);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            log.error("base64公钥转换为PublicKey失败", e);
+    /**
+     * 包装为边写入边做Base64编码的流
+     *
+     * @param output 编码结果的输出流
+     * @return 写入原始字节的流
+     */
+    public OutputStream wrapBase64Encoder(OutputStream output) {
+        if (isUrlSafe) {
+            return Base64.getUrlEncoder().wrap(output);
+        } else {
+            return Base64.getEncoder().wrap(output);
         }
-        return null;
     }
 
     /**
-     * 字节数组转Base64编码
+     * 包装为边读取边做Base64解码的流
      *
-     * @param bytes 字节数组
-     * @return Base64
+     * @param base64Input Base64编码的流
+     * @return 解码后的流
      */
-    public String byte2Base64(byte[] bytes) {
+    public InputStream wrapBase64Decoder(InputStream base64Input) {
         if (isUrlSafe) {
-            return Base64.getUrlEncoder().encodeToString(bytes);
+            return Base64.getUrlDecoder().wrap(base64Input);
         } else {
-            return Base64.getEncoder().encodeToString(bytes);
+            return Base64.getDecoder().wrap(base64Input);
         }
     }
 
@@ -0,0 +1,190 @@
+package icu.xuyijie.secureapi.cipher.utils;
+
+import javax.crypto.Cipher;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 20:10
+ * @description RSA分段加解密的并行处理，分段格式和串行时完全相同，已有的前端不需要修改
+ * 同一个 Cipher 有内部状态不能多线程使用，所以把分段按顺序切成几组，每组在 ForkJoinPool 中使用自己从 CipherPool 借出的 Cipher 处理
+ */
+public final class RsaParallelSegmentProcessor {
+    private RsaParallelSegmentProcessor() {
+
+    }
+
+    /**
+     * 分段数量达到多少时并行处理，0表示不并行
+     */
+    private static volatile int blockThreshold = 16;
+
+    /**
+     * 处理一组连续的分段
+     */
+    @FunctionalInterface
+    private interface RangeTask {
+        /**
+         * @param cipher 本组使用的 Cipher
+         * @param range 组序号
+         * @param fromBlock 开始分段序号，包含
+         * @param toBlock 结束分段序号，不包含
+         */
+        void run(Cipher cipher, int range, int fromBlock, int toBlock) throws GeneralSecurityException;
+    }
+
+    /**
+     * 设置并行处理的分段数量阈值
+     *
+     * @param blockThreshold 分段数量达到该值时并行处理，小于等于0表示不并行
+     */
+    public static void configure(int blockThreshold) {
+        RsaParallelSegmentProcessor.blockThreshold = blockThreshold;
+    }
+
+    /**
+     * 是否需要并行处理，ForkJoinPool 只有一个线程时并行没有意义
+     *
+     * @param blockCount 分段数量
+     * @return 是否并行处理
+     */
+    static boolean isParallel(int blockCount) {
+        int threshold = blockThreshold;
+        return threshold > 0 && blockCount >= threshold && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * 计算分段数量
+     *
+     * @param length 数据长度
+     * @param segmentLength 每段长度
+     * @return 分段数量
+     */
+    static int getBlockCount(int length, int segmentLength) {
+        return (length + segmentLength - 1) / segmentLength;
+    }
+
+    /**
+     * 并行分段加密，RSA每段密文长度固定等于密钥长度，每段密文直接写入提前分配好的结果数组中 分段序号 * 密文长度 的位置
+     *
+     * @param content 明文
+     * @param segmentLength 每段明文长度
+     * @param poolKey 池的 key
+     * @param cipherFactory Cipher 创建方法
+     * @return 密文
+     */
+    static byte[] encrypt(byte[] content, int segmentLength, CipherPool.PoolKey poolKey, CipherPool.CipherFactory cipherFactory) throws GeneralSecurityException {
+        int blockCount = getBlockCount(content.length, segmentLength);
+        Cipher firstCipher = CipherPool.borrow(poolKey, cipherFactory);
+        int outputBlockLength = firstCipher.getOutputSize(segmentLength);
+        byte[] result = new byte[blockCount * outputBlockLength];
+        runRanges(blockCount, firstCipher, poolKey, cipherFactory, (cipher, range, fromBlock, toBlock) -> {
+            for (int i = fromBlock; i < toBlock; i++) {
+                int offset = i * segmentLength;
+                int length = cipher.doFinal(content, offset, Math.min(segmentLength, content.length - offset), result, i * outputBlockLength);
+                if (length != outputBlockLength) {
+                    throw new GeneralSecurityException("RSA分段密文长度错误：" + length);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 并行分段解密，每段明文长度不固定，每组先解密到自己的缓冲区，全部完成后按每组的明文长度计算位置拼接
+     *
+     * @param content 密文
+     * @param segmentLength 每段密文长度，等于密钥长度
+     * @param poolKey 池的 key
+     * @param cipherFactory Cipher 创建方法
+     * @return 明文
+     */
+    static byte[] decrypt(byte[] content, int segmentLength, CipherPool.PoolKey poolKey, CipherPool.CipherFactory cipherFactory) throws GeneralSecurityException {
+        int blockCount = getBlockCount(content.length, segmentLength);
+        int rangeCount = getRangeCount(blockCount);
+        byte[][] rangeOutputs = new byte[rangeCount][];
+        int[] rangeLengths = new int[rangeCount];
+        Cipher firstCipher = CipherPool.borrow(poolKey, cipherFactory);
+        runRanges(blockCount, firstCipher, poolKey, cipherFactory, (cipher, range, fromBlock, toBlock) -> {
+            // 每段明文不会超过一段密文的长度
+            byte[] output = new byte[(toBlock - fromBlock) * cipher.getOutputSize(segmentLength)];
+            int outputLength = 0;
+            for (int i = fromBlock; i < toBlock; i++) {
+                int offset = i * segmentLength;
+                outputLength += cipher.doFinal(content, offset, Math.min(segmentLength, content.length - offset), output, outputLength);
+            }
+            rangeOutputs[range] = output;
+            rangeLengths[range] = outputLength;
+        });
+        int totalLength = 0;
+        for (int rangeLength : rangeLengths) {
+            totalLength += rangeLength;
+        }
+        byte[] result = new byte[totalLength];
+        int position = 0;
+        for (int i = 0; i < rangeCount; i++) {
+            System.arraycopy(rangeOutputs[i], 0, result, position, rangeLengths[i]);
+            position += rangeLengths[i];
+        }
+        return result;
+    }
+
+    /**
+     * 每组的分段数量，当前线程也会处理一组，所以最多分为 并行度 + 1 组
+     */
+    private static int getBlocksPerRange(int blockCount) {
+        return getBlockCount(blockCount, Math.min(ForkJoinPool.getCommonPoolParallelism() + 1, blockCount));
+    }
+
+    /**
+     * 分组数量，最后一组的分段数量可能少于 getBlocksPerRange
+     */
+    private static int getRangeCount(int blockCount) {
+        return getBlockCount(blockCount, getBlocksPerRange(blockCount));
+    }
+
+    /**
+     * 把分段切成几组，第一组由当前线程处理，其余提交到 ForkJoinPool，全部完成后返回
+     * 每组使用一个从 CipherPool 借出的 Cipher，成功后归还，失败的 Cipher 直接丢弃
+     */
+    private static void runRanges(int blockCount, Cipher firstCipher, CipherPool.PoolKey poolKey, CipherPool.CipherFactory cipherFactory, RangeTask rangeTask) throws GeneralSecurityException {
+        int blocksPerRange = getBlocksPerRange(blockCount);
+        int rangeCount = getBlockCount(blockCount, blocksPerRange);
+        List<ForkJoinTask<Void>> taskList = new ArrayList<>(rangeCount - 1);
+        for (int range = 1; range < rangeCount; range++) {
+            int fromBlock = range * blocksPerRange;
+            int toBlock = Math.min(fromBlock + blocksPerRange, blockCount);
+            int currentRange = range;
+            taskList.add(ForkJoinPool.commonPool().submit(() -> {
+                Cipher cipher = CipherPool.borrow(poolKey, cipherFactory);
+                rangeTask.run(cipher, currentRange, fromBlock, toBlock);
+                CipherPool.release(poolKey, cipher);
+                return null;
+            }));
+        }
+        rangeTask.run(firstCipher, 0, 0, Math.min(blocksPerRange, blockCount));
+        CipherPool.release(poolKey, firstCipher);
+        for (ForkJoinTask<Void> task : taskList) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GeneralSecurityException("RSA分段并行处理被中断", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof GeneralSecurityException generalSecurityException) {
+                    throw generalSecurityException;
+                }
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new GeneralSecurityException(cause);
+            }
+        }
+    }
+}
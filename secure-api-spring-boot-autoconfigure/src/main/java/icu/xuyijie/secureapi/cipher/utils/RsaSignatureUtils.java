@@ -1,5 +1,6 @@
 package icu.xuyijie.secureapi.cipher.utils;
 
+import icu.xuyijie.secureapi.cipher.enums.SignatureAlgorithmEnum;
 import icu.xuyijie.secureapi.cipher.model.RsaKeyPair;
 import icu.xuyijie.secureapi.exception.ErrorEnum;
 import icu.xuyijie.secureapi.exception.SecureApiException;
@@ -8,34 +9,55 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
-import java.security.*;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.SignatureException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 
 /**
  * @author LingfengHan、徐一杰
  * @date 2025/3/26 13:12
- * @description RSA数据签名校验工具类
+ * @description 数据签名校验工具类，签名算法由 signAlgorithm 配置，支持 RSA、Ed25519、ECDSA P-256 和 HMAC-SHA256
  */
 public class RsaSignatureUtils {
 
     private final Logger log = LoggerFactory.getLogger(RsaSignatureUtils.class);
 
     /**
-     * 数字签名公钥
+     * base64 形式的数字签名公钥，HMAC 算法时为共享密钥
      */
-    private PublicKey publicKey;
+    private String publicKey;
 
     /**
-     * 数字签名私钥
+     * base64 形式的数字签名私钥，HMAC 算法时为共享密钥
      */
-    private PrivateKey privateKey;
+    private String privateKey;
+
+    /**
+     * 每个池最多保留的空闲签名对象数量，一般并发线程数不会超过 cpu 核数太多
+     */
+    private static final int MAX_IDLE_SIGNATURE = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * 已初始化的签名对象池，签名对象有内部状态不能多线程同时使用，借出后用完归还
+     */
+    private final Queue<SignatureOperation> signPool = new ArrayBlockingQueue<>(MAX_IDLE_SIGNATURE);
+
+    /**
+     * 已初始化的验签对象池
+     */
+    private final Queue<SignatureOperation> verifyPool = new ArrayBlockingQueue<>(MAX_IDLE_SIGNATURE);
 
     private final SecureApiPropertiesConfig secureApiPropertiesConfig;
     private final PublicUtils publicUtils;
+    private final SignatureScheme signatureScheme;
 
     public RsaSignatureUtils(SecureApiPropertiesConfig secureApiPropertiesConfig) {
         this.secureApiPropertiesConfig = secureApiPropertiesConfig;
         // 改为实例方法而非静态方法，避免静态配置带来的潜在问题
         this.publicUtils = new PublicUtils(secureApiPropertiesConfig.isUrlSafe());
+        this.signatureScheme = SignatureScheme.of(secureApiPropertiesConfig.getSignAlgorithm(), publicUtils);
     }
 
     /**
@@ -49,72 +71,144 @@ public class RsaSignatureUtils {
      * 如果用户没有配置数字签名验证的公、私钥，自动生成key并打印在控制台，并把数字签名密钥对保存在全局
      */
     public void generateKeyIfAbsent(String seed) {
+        SignatureAlgorithmEnum signAlgorithm = secureApiPropertiesConfig.getSignAlgorithm();
+        // HMAC 算法只配置了一个共享密钥的情况
+        if (signAlgorithm.isHmac() && !StringUtils.hasText(secureApiPropertiesConfig.getSignPublicKey())) {
+            secureApiPropertiesConfig.setSignPublicKey(secureApiPropertiesConfig.getSignPrivateKey());
+        }
         // 用户没有设置数字签名密钥的情况
         if (!StringUtils.hasText(secureApiPropertiesConfig.getSignPublicKey()) || !StringUtils.hasText(secureApiPropertiesConfig.getSignPrivateKey())) {
-            // 随机生成密钥对
-            KeyPair keyPair  = publicUtils.getRandomKeyPair(seed);
-            publicKey = keyPair.getPublic();
-            privateKey = keyPair.getPrivate();
-            // 得到密钥字符串
-            RsaKeyPair rsaKeyPair = publicUtils.getRsaKeyPairByKeyPair(keyPair);
+            // 随机生成密钥对，得到密钥字符串
+            RsaKeyPair rsaKeyPair;
+            try {
+                rsaKeyPair = signatureScheme.generateKeyPair(seed);
+            } catch (GeneralSecurityException e) {
+                log.error("生成{}数字签名密钥对失败", signAlgorithm, e);
+                throw new SecureApiException(ErrorEnum.SIGNATURE_ERROR);
+            }
             // 设置到组件中
             secureApiPropertiesConfig.setSignPublicKey(rsaKeyPair.getPublicKey());
             secureApiPropertiesConfig.setSignPrivateKey(rsaKeyPair.getPrivateKey());
-            log.info("\n您未配置数字签名密钥对，生成随机密钥对，请妥善保存\n数字签名公钥：{}\n数字签名私钥：{}", rsaKeyPair.getPublicKey(), rsaKeyPair.getPrivateKey());
-        }
-        // 检查一下数字签名密钥对是否被保存在了全局
-        if (publicKey == null) {
-            publicKey = publicUtils.getPublicKeyFromBase64(secureApiPropertiesConfig.getSignPublicKey());
-            privateKey = publicUtils.getPrivateKeyFromBase64(secureApiPropertiesConfig.getSignPrivateKey());
+            log.info("\n您未配置数字签名密钥对，生成随机{}密钥对，请妥善保存\n数字签名公钥：{}\n数字签名私钥：{}", signAlgorithm, rsaKeyPair.getPublicKey(), rsaKeyPair.getPrivateKey());
         }
+        // 把数字签名密钥对保存在全局
+        publicKey = secureApiPropertiesConfig.getSignPublicKey();
+        privateKey = secureApiPropertiesConfig.getSignPrivateKey();
+        // 密钥可能已经变化，池中的签名对象使用的是旧密钥
+        signPool.clear();
+        verifyPool.clear();
     }
 
     /**
-     * 获取RSA数字签名
+     * 获取数字签名
      *
      * @param data 待签名数据
      * @return base64 数字签名
      */
     public String sign(byte[] data) {
         try {
-            // 初始化Signature对象
-            Signature signature = Signature.getInstance("SHA512withRSA");
-            signature.initSign(privateKey);
+            // 借出已初始化的签名对象，热路径上只执行 update 和 sign
+            SignatureOperation signature = signPool.poll();
+            if (signature == null) {
+                signature = signatureScheme.initSign(checkKey(privateKey));
+            }
             // 更新数据
-            signature.update(data);
-            // 生成签名
+            signature.update(data, 0, data.length);
+            // 生成签名，sign 执行后签名对象会重置为初始化后的状态，可以直接复用
             byte[] sign = signature.sign();
+            signPool.offer(signature);
             return publicUtils.byte2Base64(sign);
-        } catch (NoSuchAlgorithmException | InvalidKeyException | SignatureException e) {
-            log.error("获取RSA数字签名失败", e);
+        } catch (GeneralSecurityException e) {
+            log.error("获取数字签名失败", e);
         }
         return null;
     }
 
     /**
-     * RSA校验数字签名
+     * 校验数字签名
      *
      * @param data   待校验数据
      * @param signed 数字签名
      * @return boolean 校验成功返回true，失败返回false
      */
     public boolean verify(byte[] data, String signed) {
+        return verify(data, 0, data.length, signed);
+    }
+
+    /**
+     * 校验数字签名
+     *
+     * @param data   待校验数据
+     * @param offset 开始位置
+     * @param length 长度
+     * @param signed 数字签名
+     * @return boolean 校验成功返回true，失败返回false
+     */
+    public boolean verify(byte[] data, int offset, int length, String signed) {
         if (!StringUtils.hasLength(signed)) {
             log.error("数字签名为空");
             throw new SecureApiException(ErrorEnum.SIGNATURE_ERROR);
         }
+        SignatureOperation signature = initVerify();
         try {
-            // 初始化Signature对象
-            Signature signature = Signature.getInstance("SHA512withRSA");
-            signature.initVerify(publicKey);
             // 更新数据
-            signature.update(data);
-            // 验证签名
-            return signature.verify(publicUtils.base642Byte(signed));
-        } catch (NoSuchAlgorithmException | InvalidKeyException | SignatureException e) {
+            signature.update(data, offset, length);
+        } catch (SignatureException e) {
             log.error("数字签名校验失败", e);
             throw new SecureApiException(ErrorEnum.SIGNATURE_ERROR);
         }
+        return verify(signature, signed);
+    }
+
+    /**
+     * 获取已初始化的数字签名校验对象，用于流式读取时边读取边更新数据
+     *
+     * @return 已初始化的验签对象，调用 verify(SignatureOperation, String) 后会归还到池中
+     */
+    public SignatureOperation initVerify() {
+        try {
+            SignatureOperation signature = verifyPool.poll();
+            if (signature == null) {
+                signature = signatureScheme.initVerify(checkKey(publicKey));
+            }
+            return signature;
+        } catch (GeneralSecurityException e) {
+            log.error("初始化数字签名校验失败", e);
+            throw new SecureApiException(ErrorEnum.SIGNATURE_ERROR);
+        }
+    }
+
+    /**
+     * 校验数字签名，数据已经通过 SignatureOperation.update 全部传入
+     *
+     * @param signature initVerify 获取的验签对象
+     * @param signed 数字签名
+     * @return boolean 校验成功返回true，失败返回false
+     */
+    public boolean verify(SignatureOperation signature, String signed) {
+        if (!StringUtils.hasLength(signed)) {
+            log.error("数字签名为空");
+            throw new SecureApiException(ErrorEnum.SIGNATURE_ERROR);
+        }
+        try {
+            boolean result = signature.verify(publicUtils.base642Byte(signed));
+            // verify 正常返回后验签对象会重置为初始化后的状态，抛出异常的验签对象状态不确定，直接丢弃
+            verifyPool.offer(signature);
+            return result;
+        } catch (SignatureException | IllegalArgumentException e) {
+            log.error("数字签名校验失败", e);
+            throw new SecureApiException(ErrorEnum.SIGNATURE_ERROR);
+        }
+    }
+
+    /**
+     * 检查密钥是否已经通过 generateKeyIfAbsent 初始化
+     */
+    private static String checkKey(String base64Key) throws InvalidKeyException {
+        if (base64Key == null) {
+            throw new InvalidKeyException("数字签名密钥未初始化");
+        }
+        return base64Key;
     }
 
-}
\ No newline at end of file
+}
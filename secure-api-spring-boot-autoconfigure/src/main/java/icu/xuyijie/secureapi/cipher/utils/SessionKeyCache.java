@@ -0,0 +1,121 @@
+package icu.xuyijie.secureapi.cipher.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 16:10
+ * @description 会话密钥模式下，RSA公钥加密的会话密钥 -> 解密后会话密钥 的缓存，同一个会话反复传入相同的会话密钥时不需要每次都执行RSA私钥解密
+ * 解密后的会话密钥不变，CipherPool 中使用它初始化的 Cipher 也会被复用
+ */
+public final class SessionKeyCache {
+    private SessionKeyCache() {
+
+    }
+
+    /**
+     * 最多缓存的会话密钥数量，0表示不缓存
+     */
+    private static volatile int maxSize = 1024;
+
+    /**
+     * 过期时间，单位纳秒
+     */
+    private static volatile long expireNanos = TimeUnit.SECONDS.toNanos(1800);
+
+    private static final Map<String, Entry> CACHE = new ConcurrentHashMap<>();
+    private static final LongAdder HIT_COUNT = new LongAdder();
+    private static final LongAdder MISS_COUNT = new LongAdder();
+
+    /**
+     * 缓存的值
+     *
+     * @param sessionKey 解密后的会话密钥
+     * @param expireAt 过期时间点，System.nanoTime()
+     */
+    private record Entry(String sessionKey, long expireAt) {
+    }
+
+    /**
+     * 设置缓存大小和过期时间，会清空已有缓存
+     *
+     * @param maxSize 最多缓存的数量，0表示不缓存
+     * @param expireSeconds 过期时间，单位秒
+     */
+    public static void configure(int maxSize, long expireSeconds) {
+        SessionKeyCache.maxSize = maxSize;
+        SessionKeyCache.expireNanos = TimeUnit.SECONDS.toNanos(expireSeconds);
+        CACHE.clear();
+    }
+
+    /**
+     * 获取解密后的会话密钥，缓存中不存在或已过期时解密并缓存
+     *
+     * @param encryptSessionKey RSA公钥加密的会话密钥
+     * @param decryptor 会话密钥解密方法
+     * @return 解密后的会话密钥
+     */
+    public static String get(String encryptSessionKey, UnaryOperator<String> decryptor) {
+        if (maxSize <= 0) {
+            MISS_COUNT.increment();
+            return decryptor.apply(encryptSessionKey);
+        }
+        long now = System.nanoTime();
+        Entry entry = CACHE.get(encryptSessionKey);
+        if (entry != null && entry.expireAt() - now > 0) {
+            HIT_COUNT.increment();
+            return entry.sessionKey();
+        }
+        MISS_COUNT.increment();
+        String sessionKey = decryptor.apply(encryptSessionKey);
+        if (CACHE.size() >= maxSize) {
+            evict(now);
+        }
+        CACHE.put(encryptSessionKey, new Entry(sessionKey, now + expireNanos));
+        return sessionKey;
+    }
+
+    /**
+     * 先移除过期的缓存，还是满的话清空重新缓存，防止内存无限增长
+     *
+     * @param now 当前时间，System.nanoTime()
+     */
+    private static void evict(long now) {
+        CACHE.values().removeIf(entry -> entry.expireAt() - now <= 0);
+        if (CACHE.size() >= maxSize) {
+            CACHE.clear();
+        }
+    }
+
+    /**
+     * 清空缓存，RSA私钥变更后需要调用
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    /**
+     * 当前缓存的数量
+     */
+    public static int size() {
+        return CACHE.size();
+    }
+
+    /**
+     * 缓存命中次数
+     */
+    public static long getHitCount() {
+        return HIT_COUNT.sum();
+    }
+
+    /**
+     * 缓存未命中次数，也就是实际执行RSA解密的次数
+     */
+    public static long getMissCount() {
+        return MISS_COUNT.sum();
+    }
+}
@@ -0,0 +1,35 @@
+package icu.xuyijie.secureapi.cipher.utils;
+
+import java.security.SignatureException;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 21:05
+ * @description 已初始化的签名或验签对象，Signature 和 Mac 的统一包装，有内部状态不能多线程同时使用，
+ * sign、verify 正常返回后会重置为初始化后的状态，可以直接复用
+ */
+public interface SignatureOperation {
+    /**
+     * 更新待签名数据
+     *
+     * @param data 数据
+     * @param offset 开始位置
+     * @param length 长度
+     */
+    void update(byte[] data, int offset, int length) throws SignatureException;
+
+    /**
+     * 生成签名
+     *
+     * @return 签名
+     */
+    byte[] sign() throws SignatureException;
+
+    /**
+     * 校验签名
+     *
+     * @param signature 签名
+     * @return 校验成功返回true，失败返回false
+     */
+    boolean verify(byte[] signature) throws SignatureException;
+}
@@ -0,0 +1,51 @@
+package icu.xuyijie.secureapi.cipher.utils;
+
+import icu.xuyijie.secureapi.cipher.enums.SignatureAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.model.RsaKeyPair;
+
+import java.security.GeneralSecurityException;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 21:05
+ * @description 数字签名方案，负责密钥生成、解析和创建签名对象，RSA、Ed25519、ECDSA 使用 Signature 实现，HMAC 使用 Mac 实现
+ */
+interface SignatureScheme {
+    /**
+     * 根据签名算法获取签名方案
+     *
+     * @param signatureAlgorithmEnum 签名算法
+     * @param publicUtils 基础方法
+     * @return 签名方案
+     */
+    static SignatureScheme of(SignatureAlgorithmEnum signatureAlgorithmEnum, PublicUtils publicUtils) {
+        if (signatureAlgorithmEnum.isHmac()) {
+            return new HmacSignatureScheme(signatureAlgorithmEnum, publicUtils);
+        }
+        return new JcaSignatureScheme(signatureAlgorithmEnum, publicUtils);
+    }
+
+    /**
+     * 随机生成 base64 形式的密钥对，HMAC 的公钥和私钥是同一个共享密钥
+     *
+     * @param seed 随机数种子
+     * @return 密钥对
+     */
+    RsaKeyPair generateKeyPair(String seed) throws GeneralSecurityException;
+
+    /**
+     * 创建已初始化的签名对象
+     *
+     * @param base64PrivateKey base64 形式的私钥
+     * @return 签名对象
+     */
+    SignatureOperation initSign(String base64PrivateKey) throws GeneralSecurityException;
+
+    /**
+     * 创建已初始化的验签对象
+     *
+     * @param base64PublicKey base64 形式的公钥
+     * @return 验签对象
+     */
+    SignatureOperation initVerify(String base64PublicKey) throws GeneralSecurityException;
+}
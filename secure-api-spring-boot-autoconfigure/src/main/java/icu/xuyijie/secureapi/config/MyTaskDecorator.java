@@ -1,5 +1,6 @@
 package icu.xuyijie.secureapi.config;
 
+import icu.xuyijie.secureapi.model.SecureApiContext;
 import icu.xuyijie.secureapi.threadlocal.SecureApiThreadLocal;
 import org.springframework.core.task.TaskDecorator;
 import org.springframework.lang.NonNull;
@@ -15,14 +16,23 @@ public class MyTaskDecorator implements TaskDecorator {
     public Runnable decorate(@NonNull Runnable runnable) {
         boolean isEncryptApi = SecureApiThreadLocal.getIsEncryptApi();
         boolean isDecryptApi = SecureApiThreadLocal.getIsDecryptApi();
+        SecureApiContext secureApiContext = SecureApiThreadLocal.getSecureApiContext();
+        Thread submitThread = Thread.currentThread();
         return () -> {
-            try{
+            // 队列满后 CallerRunsPolicy 会让提交任务的线程自己执行，线程变量本来就是这些值，不能在执行完后清除，否则当前请求后续的加密和解密会丢失上下文
+            if (Thread.currentThread() == submitThread) {
+                runnable.run();
+                return;
+            }
+            try {
                 SecureApiThreadLocal.setIsEncryptApi(isEncryptApi);
                 SecureApiThreadLocal.setIsDecryptApi(isDecryptApi);
+                SecureApiThreadLocal.setSecureApiContext(secureApiContext);
                 runnable.run();
             } finally {
                 SecureApiThreadLocal.clearIsEncryptApi();
                 SecureApiThreadLocal.clearIsDecryptApi();
+                SecureApiThreadLocal.clearSecureApiContext();
             }
         };
     }
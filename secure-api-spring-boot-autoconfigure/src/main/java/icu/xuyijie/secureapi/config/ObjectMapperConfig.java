@@ -2,12 +2,15 @@ package icu.xuyijie.secureapi.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
+import icu.xuyijie.secureapi.handler.DecryptFieldDeserializerModifier;
+import icu.xuyijie.secureapi.handler.EncryptFieldSerializerModifier;
 import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
@@ -53,6 +56,11 @@ public class ObjectMapperConfig {
         // 时间类型转换为 string 后以时间格式输出，而不是毫秒值
         builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-        return builder.build();
+        ObjectMapper objectMapper = builder.build();
+        // 字段级加密，不使用 builder.modules，否则会覆盖 Spring Boot 注册的 Module
+        objectMapper.registerModule(new SimpleModule(EncryptFieldSerializerModifier.MODULE_NAME).setSerializerModifier(new EncryptFieldSerializerModifier(secureApiPropertiesConfig)));
+        // 字段级解密，Spring Boot 已经通过 Module bean 注册过时会被忽略
+        objectMapper.registerModule(DecryptFieldDeserializerModifier.createModule(secureApiPropertiesConfig));
+        return objectMapper;
     }
 }
@@ -1,11 +1,16 @@
 package icu.xuyijie.secureapi.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import icu.xuyijie.secureapi.handler.SecureApiArgumentResolver;
+import icu.xuyijie.secureapi.handler.SecureApiBinaryHttpMessageConverter;
+import icu.xuyijie.secureapi.interceptor.SecureApiContextInterceptor;
 import icu.xuyijie.secureapi.interceptor.SecureApiDecryptPathInterceptor;
 import icu.xuyijie.secureapi.interceptor.SecureApiEncryptPathInterceptor;
 import icu.xuyijie.secureapi.model.SecureApiProperties;
 import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
 import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.lang.NonNull;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.HandlerInterceptor;
@@ -25,18 +30,26 @@ import java.util.Optional;
 public class SecureApiWebConfig implements WebMvcConfigurer {
     private final SecureApiEncryptPathInterceptor secureApiEncryptPathInterceptor;
     private final SecureApiDecryptPathInterceptor secureApiDecryptPathInterceptor;
+    private final SecureApiContextInterceptor secureApiContextInterceptor;
     private final SecureApiArgumentResolver secureApiArgumentResolver;
     private final SecureApiPropertiesConfig secureApiPropertiesConfig;
+    private final ObjectMapper secureApiObjectMapper;
 
-    public SecureApiWebConfig(SecureApiEncryptPathInterceptor secureApiEncryptPathInterceptor, SecureApiDecryptPathInterceptor secureApiDecryptPathInterceptor, SecureApiArgumentResolver secureApiArgumentResolver, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+    public SecureApiWebConfig(SecureApiEncryptPathInterceptor secureApiEncryptPathInterceptor, SecureApiDecryptPathInterceptor secureApiDecryptPathInterceptor, SecureApiContextInterceptor secureApiContextInterceptor, SecureApiArgumentResolver secureApiArgumentResolver, SecureApiPropertiesConfig secureApiPropertiesConfig, ObjectMapper secureApiObjectMapper) {
         this.secureApiEncryptPathInterceptor = secureApiEncryptPathInterceptor;
         this.secureApiDecryptPathInterceptor = secureApiDecryptPathInterceptor;
+        this.secureApiContextInterceptor = secureApiContextInterceptor;
         this.secureApiArgumentResolver = secureApiArgumentResolver;
         this.secureApiPropertiesConfig = secureApiPropertiesConfig;
+        this.secureApiObjectMapper = secureApiObjectMapper;
     }
 
     @Override
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        // 加载请求上下文拦截器，最先执行，最后清除
+        registry.addInterceptor(secureApiContextInterceptor)
+                .addPathPatterns("/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
         // 加载加密url拦截器
         addSecureApiPathInterceptor(registry, secureApiEncryptPathInterceptor, secureApiPropertiesConfig.getEncryptUrl());
         // 加载解密url拦截器
@@ -64,4 +77,12 @@ public class SecureApiWebConfig implements WebMvcConfigurer {
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(secureApiArgumentResolver);
     }
+
+    @Override
+    public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+        // 二进制传输的转换器放在最后，Accept 为 */* 的浏览器请求仍然优先匹配 application/json，使用Base64传输
+        if (secureApiPropertiesConfig.isBinaryTransportEnabled()) {
+            converters.add(new SecureApiBinaryHttpMessageConverter(secureApiObjectMapper));
+        }
+    }
 }
@@ -19,7 +19,9 @@ public class ThreadPoolConfig {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(availableProcessors / 2 + 1);
         executor.setMaxPoolSize(availableProcessors);
-        executor.setQueueCapacity(Integer.MAX_VALUE);
+        // 有界队列，队列满后由提交任务的线程自己执行（CallerRunsPolicy），形成背压，避免高并发下队列无限增长，
+        // 此时 MyTaskDecorator 不会清除提交线程的线程变量
+        executor.setQueueCapacity(availableProcessors * 16);
         executor.setKeepAliveSeconds(60);
         executor.setThreadNamePrefix("secureThreadPool-");
         executor.setTaskDecorator(new MyTaskDecorator());
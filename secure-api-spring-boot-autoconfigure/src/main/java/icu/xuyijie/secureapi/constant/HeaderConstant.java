@@ -11,4 +11,14 @@ public final class HeaderConstant {
     }
 
     public static final String X_SIGNATURE = "X-signature";
+
+    /**
+     * 请求体或响应体在加密前经过了压缩，值为压缩算法，解密后需要先解压
+     */
+    public static final String X_SECURE_API_COMPRESS = "X-Secure-Api-Compress";
+
+    /**
+     * 响应体是分块加密的 json 数组，值为每块包含的元素数量，数组中每个元素是一块的密文，解密后是该块元素组成的 json 数组
+     */
+    public static final String X_SECURE_API_CHUNKED = "X-Secure-Api-Chunked";
 }
@@ -0,0 +1,21 @@
+package icu.xuyijie.secureapi.constant;
+
+import org.springframework.http.MediaType;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 21:40
+ * @description 媒体类型常量
+ */
+public final class MediaTypeConstant {
+    private MediaTypeConstant() {
+
+    }
+
+    /**
+     * 二进制传输的密文，请求体和响应体是未经过Base64编码的原始密文
+     */
+    public static final String APPLICATION_SECURE_API_VALUE = "application/x-secure-api";
+
+    public static final MediaType APPLICATION_SECURE_API = MediaType.valueOf(APPLICATION_SECURE_API_VALUE);
+}
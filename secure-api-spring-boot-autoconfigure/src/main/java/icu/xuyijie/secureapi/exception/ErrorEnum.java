@@ -16,13 +16,19 @@ public enum ErrorEnum {
     DECRYPT_ERROR("解密失败，请检查密文或加密key和解密key是否相同"),
     RSA_ENCRYPT_ERROR("RSA加密失败"),
     RSA_DECRYPT_ERROR("RSA解密失败，请检查密文或公钥和私钥匹配情况"),
+    NO_PADDING_CONTENT_ERROR("NO_PADDING算法使用0x00补全，明文不能以0x00结尾，二进制数据请使用 PKCS5 或 AEAD 算法"),
     SESSION_KEY_EMPTY("会话密钥为空"),
     SESSION_KEY_DECRYPT_ERROR("会话密钥解密失败，请检查密文或公钥和私钥匹配情况"),
     KEY_ERROR("公钥或私钥错误"),
     KEY_CREATE_ERROR("获取密钥失败"),
     SESSION_MODE_CONFIG_ERROR("会话密钥模式中，必须设置加密算法为RSA，会话密钥算法为非RSA"),
+    RSA_ENVELOPE_CONFIG_ERROR("RSA信封模式中，必须设置加密算法为RSA，信封数据加密算法为AEAD算法（AES_GCM_NO_PADDING、CHACHA20_POLY1305、SM4_GCM_NO_PADDING）"),
     SIGNATURE_ERROR("数字签名校验失败"),
     CLASS_LOAD_ERROR("无法加载配置的返回体包路径"),
+    COMPRESS_ERROR("数据压缩或解压失败"),
+    DECOMPRESS_SIZE_ERROR("解压后的数据超过 decompressMaxSize 限制"),
+    COMPRESS_CONFIG_ERROR("配置的压缩算法不可用，ZSTD 需要引入 zstd-jni，LZ4 需要引入 lz4-java"),
+    COMPRESS_CIPHER_ERROR("NO_PADDING 算法使用0x00补全，压缩后的数据会被截断，开启压缩时请使用 PKCS5 或 AEAD 算法"),
     ;
 
     private final String message;
@@ -0,0 +1,225 @@
+package icu.xuyijie.secureapi.handler;
+
+import icu.xuyijie.secureapi.annotation.DecryptIgnore;
+import icu.xuyijie.secureapi.annotation.DecryptParam;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 17:25
+ * @description param/formData 实体类参数的绑定计划缓存，每个类第一次请求时解析字段、注解和类型转换方式，
+ * 并生成构造方法和字段 setter 的 MethodHandle，之后每次请求不再执行反射查找
+ */
+final class BindingPlanCache {
+    private BindingPlanCache() {
+
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(BindingPlanCache.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType STRING_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, String.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Map<Class<?>, BindingPlan> BINDING_PLAN_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 字段值从字符串转换为字段类型的方式
+     */
+    enum ValueKind {
+        /**
+         * 字段就是 String，直接赋值
+         */
+        STRING,
+        /**
+         * List、Set、Queue、Map 或数组，交给 SecureApiArgumentResolver.getObjectByType 处理
+         */
+        CONTAINER,
+        /**
+         * Date 或 Temporal 日期类型
+         */
+        DATE,
+        /**
+         * 调用字段类型的 String 参数构造方法，如 Integer(String)
+         */
+        STRING_CONSTRUCTOR,
+        /**
+         * 字段类型没有 String 参数构造方法，无法转换
+         */
+        UNSUPPORTED
+    }
+
+    /**
+     * 实体类的绑定计划
+     *
+     * @param constructor 无参构造方法，类型为 ()Object，没有无参构造方法时为 null
+     * @param fieldBindingList 需要绑定的字段，包含父类字段
+     */
+    record BindingPlan(MethodHandle constructor, List<FieldBinding> fieldBindingList) {
+        /**
+         * 创建实体类实例
+         *
+         * @return 实体类实例
+         */
+        Object newInstance() throws Exception {
+            if (constructor == null) {
+                throw new NoSuchMethodException("没有可访问的无参构造方法");
+            }
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        }
+    }
+
+    /**
+     * 单个字段的绑定信息
+     *
+     * @param name 字段名，也是请求参数名
+     * @param logName 日志中显示的名称，类名.字段名
+     * @param decryptParam 字段上有 @DecryptParam
+     * @param decryptIgnore 字段上有 @DecryptIgnore
+     * @param targetType 字段类型，基本类型已转为包装类型
+     * @param resolvableType 字段的完整泛型类型，容器元素按泛型转换
+     * @param valueKind 字符串转换为字段类型的方式
+     * @param stringConstructor valueKind 为 STRING_CONSTRUCTOR 时的构造方法，类型为 (String)Object
+     * @param setter 字段 setter，类型为 (Object, Object)void
+     */
+    record FieldBinding(String name, String logName, boolean decryptParam, boolean decryptIgnore, Class<?> targetType,
+                        ResolvableType resolvableType, ValueKind valueKind, MethodHandle stringConstructor, MethodHandle setter) {
+        /**
+         * 调用字段类型的 String 参数构造方法
+         *
+         * @param value 字符串值
+         * @return 字段类型的值
+         */
+        Object construct(String value) throws Exception {
+            try {
+                return (Object) stringConstructor.invokeExact(value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        }
+
+        /**
+         * 设置字段值
+         *
+         * @param target 实体类实例
+         * @param value 字段值
+         */
+        void set(Object target, Object value) throws Exception {
+            try {
+                setter.invokeExact(target, value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        }
+    }
+
+    /**
+     * 获取实体类的绑定计划，不存在时解析并缓存
+     *
+     * @param clazz 实体类类型
+     * @return 绑定计划
+     */
+    static BindingPlan getBindingPlan(Class<?> clazz) {
+        return BINDING_PLAN_CACHE.computeIfAbsent(clazz, BindingPlanCache::createBindingPlan);
+    }
+
+    private static BindingPlan createBindingPlan(Class<?> clazz) {
+        MethodHandle constructor = null;
+        try {
+            Constructor<?> declaredConstructor = clazz.getDeclaredConstructor();
+            declaredConstructor.setAccessible(true);
+            constructor = LOOKUP.unreflectConstructor(declaredConstructor).asType(CONSTRUCTOR_TYPE);
+        } catch (Exception ignored) {
+            // 接口、抽象类、基本类型包装类等没有无参构造方法的类型，实例化时抛出异常
+        }
+        List<FieldBinding> fieldBindingList = new ArrayList<>();
+        // 没有无参构造方法就不会绑定字段，不需要解析
+        if (constructor != null) {
+            Class<?> current = clazz;
+            while (current != null) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isFinal(field.getModifiers())) {
+                        continue;
+                    }
+                    FieldBinding fieldBinding = createFieldBinding(clazz, field);
+                    if (fieldBinding != null) {
+                        fieldBindingList.add(fieldBinding);
+                    }
+                }
+                current = current.getSuperclass();
+            }
+        }
+        return new BindingPlan(constructor, List.copyOf(fieldBindingList));
+    }
+
+    private static FieldBinding createFieldBinding(Class<?> clazz, Field field) {
+        String logName = clazz.getSimpleName() + "." + field.getName();
+        MethodHandle setter;
+        try {
+            field.setAccessible(true);
+            setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (Exception e) {
+            // JDK 内部类的私有字段等无法访问的字段，跳过
+            log.debug("实体类字段：{} 无法访问，跳过此字段的绑定", logName, e);
+            return null;
+        }
+        // 获取字段包装类型
+        Class<?> targetType = ClassUtils.resolvePrimitiveIfNecessary(field.getType());
+        MethodHandle stringConstructor = null;
+        ValueKind valueKind;
+        if (targetType == String.class) {
+            valueKind = ValueKind.STRING;
+        } else if (CollectionStringParser.isContainerType(targetType)) {
+            valueKind = ValueKind.CONTAINER;
+        } else if (targetType == Date.class || Temporal.class.isAssignableFrom(targetType)) {
+            valueKind = ValueKind.DATE;
+        } else {
+            try {
+                stringConstructor = LOOKUP.unreflectConstructor(targetType.getConstructor(String.class)).asType(STRING_CONSTRUCTOR_TYPE);
+                valueKind = ValueKind.STRING_CONSTRUCTOR;
+            } catch (Exception e) {
+                valueKind = ValueKind.UNSUPPORTED;
+            }
+        }
+        return new FieldBinding(
+                field.getName(),
+                logName,
+                AnnotatedElementUtils.hasAnnotation(field, DecryptParam.class),
+                AnnotatedElementUtils.hasAnnotation(field, DecryptIgnore.class),
+                targetType,
+                ResolvableType.forField(field, clazz),
+                valueKind,
+                stringConstructor,
+                setter
+        );
+    }
+}
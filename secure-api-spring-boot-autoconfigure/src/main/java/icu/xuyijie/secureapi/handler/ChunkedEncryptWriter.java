@@ -0,0 +1,85 @@
+package icu.xuyijie.secureapi.handler;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import icu.xuyijie.secureapi.constant.HeaderConstant;
+import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/19 0:10
+ * @description 分块加密响应，集合每 chunkedResponseSize 个元素序列化为一个 json 数组并单独加密，每块写出后立即 flush，前端收到第一块就可以开始解密处理
+ * 响应格式为 Base64 密文组成的 json 数组：["第一块密文","第二块密文"]，每块都是一次独立的加密，每块使用新的随机 iv（AEAD 算法为 nonce）并放在密文开头
+ * 每块解密后是 {"index":块序号,"data":[这一块的元素],"last":是否是最后一块}，前端需要校验序号连续并且最后一块的 last 为 true，防止块被删除、调换顺序或者响应被截断
+ * 使用 AEAD 算法时序号和 last 标记在认证范围内，无法被篡改
+ */
+final class ChunkedEncryptWriter {
+    private static final byte[] LAST_TRUE = "],\"last\":true}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LAST_FALSE = "],\"last\":false}".getBytes(StandardCharsets.UTF_8);
+
+    private ChunkedEncryptWriter() {
+
+    }
+
+    /**
+     * 分块加密并写出集合
+     *
+     * @param body 返回值集合
+     * @param outputMessage 响应
+     * @param objectWriter 序列化元素使用的 ObjectWriter，不能关闭目标流
+     * @param secureApiPropertiesConfig 配置
+     * @return 写出的块数
+     */
+    static int write(Collection<?> body, HttpOutputMessage outputMessage, ObjectWriter objectWriter, SecureApiPropertiesConfig secureApiPropertiesConfig) throws IOException {
+        int chunkSize = secureApiPropertiesConfig.getChunkedResponseSize();
+        outputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        outputMessage.getHeaders().set(HeaderConstant.X_SECURE_API_CHUNKED, String.valueOf(chunkSize));
+
+        OutputStream outputStream = outputMessage.getBody();
+        outputStream.write('[');
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        int chunkCount = 0;
+        int elementCount = 0;
+        Iterator<?> iterator = body.iterator();
+        while (iterator.hasNext()) {
+            if (elementCount == 0) {
+                chunk.write(("{\"index\":" + chunkCount + ",\"data\":[").getBytes(StandardCharsets.UTF_8));
+            } else {
+                chunk.write(',');
+            }
+            objectWriter.writeValue(chunk, iterator.next());
+            if (++elementCount == chunkSize || !iterator.hasNext()) {
+                writeChunk(chunk, chunkCount++, !iterator.hasNext(), outputStream, secureApiPropertiesConfig);
+                elementCount = 0;
+            }
+        }
+        outputStream.write(']');
+        outputStream.flush();
+        return chunkCount;
+    }
+
+    /**
+     * 写入 last 标记后加密一块并立即写出，写出后清空缓冲区复用
+     */
+    private static void writeChunk(ByteArrayOutputStream chunk, int chunkIndex, boolean last, OutputStream outputStream, SecureApiPropertiesConfig secureApiPropertiesConfig) throws IOException {
+        chunk.write(last ? LAST_TRUE : LAST_FALSE);
+        byte[] encrypt = CipherModeHandler.handleEncryptModeRandomIv(chunk.toByteArray(), secureApiPropertiesConfig);
+        chunk.reset();
+        if (chunkIndex > 0) {
+            outputStream.write(',');
+        }
+        outputStream.write('"');
+        outputStream.write(encrypt);
+        outputStream.write('"');
+        // 每块写出后 flush，servlet 容器会使用 chunked 传输编码把已经加密的部分发送给前端
+        outputStream.flush();
+    }
+}
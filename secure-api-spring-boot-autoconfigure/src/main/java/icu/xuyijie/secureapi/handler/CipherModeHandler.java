@@ -1,16 +1,27 @@
 package icu.xuyijie.secureapi.handler;
 
 import icu.xuyijie.secureapi.cipher.enums.CipherAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.enums.KeyGenAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.utils.SessionKeyCache;
+import icu.xuyijie.secureapi.constant.MediaTypeConstant;
 import icu.xuyijie.secureapi.exception.ErrorEnum;
 import icu.xuyijie.secureapi.exception.SecureApiException;
+import icu.xuyijie.secureapi.model.SecureApiContext;
 import icu.xuyijie.secureapi.model.SecureApiProperties;
 import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+import icu.xuyijie.secureapi.threadlocal.SecureApiThreadLocal;
+import org.springframework.http.MediaType;
 import org.springframework.util.StringUtils;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 /**
  * @author 徐一杰
  * @date 2024/6/19 18:01
- * @description 处理不同加密方案
+ * @description 处理不同加密方案，每个请求的密钥从 SecureApiContext 中获取，不会修改全局的 SecureApiPropertiesConfig
  */
 class CipherModeHandler {
     CipherModeHandler() {
@@ -28,13 +39,96 @@ class CipherModeHandler {
         if (!StringUtils.hasText(content)) {
             return content;
         }
-        CipherAlgorithmEnum cipherAlgorithmEnum = secureApiPropertiesConfig.getCipherAlgorithmEnum();
-        // 如果是会话密钥模式
-        if (SecureApiProperties.Mode.SESSION_KEY == secureApiPropertiesConfig.getMode()) {
-            // 使用会话密钥加密算法加密返回值
-            cipherAlgorithmEnum = secureApiPropertiesConfig.getSessionKeyCipherAlgorithm();
+        CipherAlgorithmEnum cipherAlgorithmEnum = getDataCipherAlgorithm(secureApiPropertiesConfig);
+        if (isEnvelope(cipherAlgorithmEnum, secureApiPropertiesConfig)) {
+            CipherAlgorithmEnum envelopeCipherAlgorithm = secureApiPropertiesConfig.getRsaEnvelopeCipherAlgorithm();
+            return cipherAlgorithmEnum.encryptEnvelope(content, secureApiPropertiesConfig.getPublicKey(), envelopeCipherAlgorithm, getAad(envelopeCipherAlgorithm, secureApiPropertiesConfig), secureApiPropertiesConfig.isUrlSafe());
+        }
+        return cipherAlgorithmEnum.encrypt(content, getEncryptKey(cipherAlgorithmEnum, secureApiPropertiesConfig), getIv(secureApiPropertiesConfig), getAad(cipherAlgorithmEnum, secureApiPropertiesConfig), secureApiPropertiesConfig.isUrlSafe());
+    }
+
+    /**
+     * 根据不同加密方案处理key的获取
+     *
+     * @param content 明文字节数组
+     * @param secureApiPropertiesConfig key配置信息
+     * @return Base64编码的密文字节数组
+     */
+    public static byte[] handleEncryptMode(byte[] content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        return handleEncryptMode(content, false, secureApiPropertiesConfig);
+    }
+
+    /**
+     * 根据不同加密方案处理key的获取
+     *
+     * @param content 明文字节数组
+     * @param binary 是否是二进制传输，二进制传输时密文不做Base64编码
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 密文字节数组
+     */
+    public static byte[] handleEncryptMode(byte[] content, boolean binary, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        if (content.length == 0) {
+            return content;
+        }
+        CipherAlgorithmEnum cipherAlgorithmEnum = getDataCipherAlgorithm(secureApiPropertiesConfig);
+        if (isEnvelope(cipherAlgorithmEnum, secureApiPropertiesConfig)) {
+            CipherAlgorithmEnum envelopeCipherAlgorithm = secureApiPropertiesConfig.getRsaEnvelopeCipherAlgorithm();
+            byte[] aad = getAad(envelopeCipherAlgorithm, secureApiPropertiesConfig);
+            if (binary) {
+                return cipherAlgorithmEnum.encryptEnvelopeBinary(content, secureApiPropertiesConfig.getPublicKey(), envelopeCipherAlgorithm, aad, secureApiPropertiesConfig.isUrlSafe());
+            }
+            return cipherAlgorithmEnum.encryptEnvelope(content, secureApiPropertiesConfig.getPublicKey(), envelopeCipherAlgorithm, aad, secureApiPropertiesConfig.isUrlSafe());
         }
-        return cipherAlgorithmEnum.encrypt(content, secureApiPropertiesConfig);
+        String key = getEncryptKey(cipherAlgorithmEnum, secureApiPropertiesConfig);
+        byte[] aad = getAad(cipherAlgorithmEnum, secureApiPropertiesConfig);
+        if (binary) {
+            return cipherAlgorithmEnum.encryptBinary(content, key, getIv(secureApiPropertiesConfig), aad, secureApiPropertiesConfig.isUrlSafe());
+        }
+        return cipherAlgorithmEnum.encrypt(content, key, getIv(secureApiPropertiesConfig), aad, secureApiPropertiesConfig.isUrlSafe());
+    }
+
+    /**
+     * 每条消息随机生成 iv 的加密，用于同一个请求中需要使用相同的 key 加密多条消息的场景，例如分块加密响应
+     * AEAD 算法和RSA信封本来就是每条消息随机的，和 handleEncryptMode 结果格式相同；其它对称算法的密文开头是本条消息的随机 iv
+     *
+     * @param content 明文字节数组
+     * @param secureApiPropertiesConfig key配置信息
+     * @return Base64编码的密文字节数组
+     */
+    public static byte[] handleEncryptModeRandomIv(byte[] content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        CipherAlgorithmEnum cipherAlgorithmEnum = getDataCipherAlgorithm(secureApiPropertiesConfig);
+        if (content.length == 0 || isEnvelope(cipherAlgorithmEnum, secureApiPropertiesConfig)) {
+            return handleEncryptMode(content, secureApiPropertiesConfig);
+        }
+        return cipherAlgorithmEnum.encryptRandomIv(content, getEncryptKey(cipherAlgorithmEnum, secureApiPropertiesConfig), getAad(cipherAlgorithmEnum, secureApiPropertiesConfig), secureApiPropertiesConfig.isUrlSafe());
+    }
+
+    /**
+     * 流式加密，调用前需要使用 isStreamSupported 判断是否支持
+     *
+     * @param content Base64编码的密文输出流
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 写入明文的流
+     */
+    public static OutputStream handleEncryptMode(OutputStream content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        return handleEncryptMode(content, false, secureApiPropertiesConfig);
+    }
+
+    /**
+     * 流式加密，调用前需要使用 isStreamSupported 判断是否支持
+     *
+     * @param content 密文输出流
+     * @param binary 是否是二进制传输，二进制传输时密文不做Base64编码
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 写入明文的流
+     */
+    public static OutputStream handleEncryptMode(OutputStream content, boolean binary, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        CipherAlgorithmEnum cipherAlgorithmEnum = getDataCipherAlgorithm(secureApiPropertiesConfig);
+        String key = getEncryptKey(cipherAlgorithmEnum, secureApiPropertiesConfig);
+        if (binary) {
+            return cipherAlgorithmEnum.encryptBinary(content, key, getIv(secureApiPropertiesConfig), secureApiPropertiesConfig.isUrlSafe());
+        }
+        return cipherAlgorithmEnum.encrypt(content, key, getIv(secureApiPropertiesConfig), secureApiPropertiesConfig.isUrlSafe());
     }
 
     /**
@@ -48,23 +142,214 @@ class CipherModeHandler {
         if (!StringUtils.hasText(content)) {
             return content;
         }
-        CipherAlgorithmEnum cipherAlgorithmEnum = secureApiPropertiesConfig.getCipherAlgorithmEnum();
-        // 如果是会话密钥模式
-        if (SecureApiProperties.Mode.SESSION_KEY == secureApiPropertiesConfig.getMode()) {
-            String sessionKey = secureApiPropertiesConfig.getKey();
-            if (!StringUtils.hasText(sessionKey)) {
-                throw new SecureApiException(ErrorEnum.SESSION_KEY_EMPTY);
-            }
-            // 使用RSA私钥解密会话密钥
-            try {
-                String decryptSessionKey = cipherAlgorithmEnum.decrypt(sessionKey, secureApiPropertiesConfig);
-                secureApiPropertiesConfig.setKey(decryptSessionKey);
-            } catch (SecureApiException e) {
-                throw new SecureApiException(ErrorEnum.SESSION_KEY_DECRYPT_ERROR);
+        CipherAlgorithmEnum cipherAlgorithmEnum = getDataCipherAlgorithm(secureApiPropertiesConfig);
+        if (isEnvelope(cipherAlgorithmEnum, secureApiPropertiesConfig)) {
+            CipherAlgorithmEnum envelopeCipherAlgorithm = secureApiPropertiesConfig.getRsaEnvelopeCipherAlgorithm();
+            return cipherAlgorithmEnum.decryptEnvelope(content, secureApiPropertiesConfig.getPrivateKey(), envelopeCipherAlgorithm, getAad(envelopeCipherAlgorithm, secureApiPropertiesConfig), secureApiPropertiesConfig.isUrlSafe());
+        }
+        return cipherAlgorithmEnum.decrypt(content, getDecryptKey(cipherAlgorithmEnum, secureApiPropertiesConfig), getIv(secureApiPropertiesConfig), getAad(cipherAlgorithmEnum, secureApiPropertiesConfig), secureApiPropertiesConfig.isUrlSafe());
+    }
+
+    /**
+     * 根据不同解密方案处理key的获取
+     *
+     * @param content Base64编码的密文字节数组
+     * @param offset 密文开始位置
+     * @param length 密文长度
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 明文字节数组
+     */
+    public static byte[] handleDecryptMode(byte[] content, int offset, int length, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        return handleDecryptMode(content, offset, length, false, secureApiPropertiesConfig);
+    }
+
+    /**
+     * 根据不同解密方案处理key的获取
+     *
+     * @param content 密文字节数组
+     * @param offset 密文开始位置
+     * @param length 密文长度
+     * @param binary 是否是二进制传输，二进制传输时密文未经过Base64编码
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 明文字节数组
+     */
+    public static byte[] handleDecryptMode(byte[] content, int offset, int length, boolean binary, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        if (length == 0) {
+            return new byte[0];
+        }
+        CipherAlgorithmEnum cipherAlgorithmEnum = getDataCipherAlgorithm(secureApiPropertiesConfig);
+        byte[] binaryContent = binary && (offset != 0 || length != content.length) ? Arrays.copyOfRange(content, offset, offset + length) : content;
+        if (isEnvelope(cipherAlgorithmEnum, secureApiPropertiesConfig)) {
+            CipherAlgorithmEnum envelopeCipherAlgorithm = secureApiPropertiesConfig.getRsaEnvelopeCipherAlgorithm();
+            byte[] aad = getAad(envelopeCipherAlgorithm, secureApiPropertiesConfig);
+            if (binary) {
+                return cipherAlgorithmEnum.decryptEnvelopeBinary(binaryContent, secureApiPropertiesConfig.getPrivateKey(), envelopeCipherAlgorithm, aad, secureApiPropertiesConfig.isUrlSafe());
             }
-            // 接下来使用会话密钥的加密算法解密请求参数
-            cipherAlgorithmEnum = secureApiPropertiesConfig.getSessionKeyCipherAlgorithm();
+            return cipherAlgorithmEnum.decryptEnvelope(content, offset, length, secureApiPropertiesConfig.getPrivateKey(), envelopeCipherAlgorithm, aad, secureApiPropertiesConfig.isUrlSafe());
+        }
+        String key = getDecryptKey(cipherAlgorithmEnum, secureApiPropertiesConfig);
+        byte[] aad = getAad(cipherAlgorithmEnum, secureApiPropertiesConfig);
+        if (binary) {
+            return cipherAlgorithmEnum.decryptBinary(binaryContent, key, getIv(secureApiPropertiesConfig), aad, secureApiPropertiesConfig.isUrlSafe());
+        }
+        return cipherAlgorithmEnum.decrypt(content, offset, length, key, getIv(secureApiPropertiesConfig), aad, secureApiPropertiesConfig.isUrlSafe());
+    }
+
+    /**
+     * 流式解密，调用前需要使用 isStreamSupported 判断是否支持
+     *
+     * @param content Base64编码的密文流
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 明文流
+     */
+    public static InputStream handleDecryptMode(InputStream content, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        return handleDecryptMode(content, false, secureApiPropertiesConfig);
+    }
+
+    /**
+     * 流式解密，调用前需要使用 isStreamSupported 判断是否支持
+     *
+     * @param content 密文流
+     * @param binary 是否是二进制传输，二进制传输时密文未经过Base64编码
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 明文流
+     */
+    public static InputStream handleDecryptMode(InputStream content, boolean binary, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        CipherAlgorithmEnum cipherAlgorithmEnum = getDataCipherAlgorithm(secureApiPropertiesConfig);
+        String key = getDecryptKey(cipherAlgorithmEnum, secureApiPropertiesConfig);
+        if (binary) {
+            return cipherAlgorithmEnum.decryptBinary(content, key, getIv(secureApiPropertiesConfig), secureApiPropertiesConfig.isUrlSafe());
+        }
+        return cipherAlgorithmEnum.decrypt(content, key, getIv(secureApiPropertiesConfig), secureApiPropertiesConfig.isUrlSafe());
+    }
+
+    /**
+     * 是否使用二进制传输，密文不做Base64编码，请求体和返回值也不使用双引号包裹
+     *
+     * @param mediaType 请求的 Content-Type 或返回值选择的媒体类型
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 开启了二进制传输并且媒体类型是 application/x-secure-api 时返回 true
+     */
+    public static boolean isBinary(MediaType mediaType, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        return secureApiPropertiesConfig.isBinaryTransportEnabled() && mediaType != null && MediaTypeConstant.APPLICATION_SECURE_API.equalsTypeAndSubtype(mediaType);
+    }
+
+    /**
+     * 加解密数据使用的算法是否支持流式处理
+     *
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 是否支持流式处理
+     */
+    public static boolean isStreamSupported(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        return getDataCipherAlgorithm(secureApiPropertiesConfig).isStreamSupported();
+    }
+
+    /**
+     * 获取加解密数据使用的算法
+     *
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 加解密数据的算法
+     */
+    public static CipherAlgorithmEnum getDataCipherAlgorithm(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        // 本次请求指定了算法
+        CipherAlgorithmEnum cipherAlgorithm = SecureApiThreadLocal.getSecureApiContext().getCipherAlgorithm();
+        if (cipherAlgorithm != null) {
+            return cipherAlgorithm;
+        }
+        // 如果是会话密钥模式，使用会话密钥算法加解密数据
+        if (SecureApiProperties.Mode.SESSION_KEY == secureApiPropertiesConfig.getMode()) {
+            return secureApiPropertiesConfig.getSessionKeyCipherAlgorithm();
+        }
+        return secureApiPropertiesConfig.getCipherAlgorithmEnum();
+    }
+
+    /**
+     * 数据加密算法是RSA并且开启了信封模式
+     *
+     * @param cipherAlgorithmEnum 加解密数据的算法
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 是否使用RSA信封加解密
+     */
+    private static boolean isEnvelope(CipherAlgorithmEnum cipherAlgorithmEnum, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        return secureApiPropertiesConfig.isRsaEnvelopeEnabled() && KeyGenAlgorithmEnum.RSA == cipherAlgorithmEnum.getKeyGenEnum();
+    }
+
+    private static String getEncryptKey(CipherAlgorithmEnum cipherAlgorithmEnum, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        if (KeyGenAlgorithmEnum.RSA == cipherAlgorithmEnum.getKeyGenEnum()) {
+            return secureApiPropertiesConfig.getPublicKey();
+        }
+        return getKey(secureApiPropertiesConfig);
+    }
+
+    private static String getDecryptKey(CipherAlgorithmEnum cipherAlgorithmEnum, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        if (KeyGenAlgorithmEnum.RSA == cipherAlgorithmEnum.getKeyGenEnum()) {
+            return secureApiPropertiesConfig.getPrivateKey();
+        }
+        return getKey(secureApiPropertiesConfig);
+    }
+
+    /**
+     * 获取本次请求的对称加密key，会话密钥模式下是解密后的会话密钥
+     *
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 对称加密key
+     */
+    private static String getKey(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        SecureApiContext secureApiContext = SecureApiThreadLocal.getSecureApiContext();
+        if (SecureApiProperties.Mode.SESSION_KEY == secureApiPropertiesConfig.getMode()) {
+            return getSessionKey(secureApiContext, secureApiPropertiesConfig);
+        }
+        String key = secureApiContext.getKey();
+        return key != null ? key : secureApiPropertiesConfig.getKey();
+    }
+
+    private static String getIv(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        String iv = SecureApiThreadLocal.getSecureApiContext().getIv();
+        return iv != null ? iv : secureApiPropertiesConfig.getIv();
+    }
+
+    /**
+     * 获取 AEAD 算法的附加认证数据，格式为 "请求方法 请求路径"，如 "POST /user/add"，前端加解密时需要使用相同的值
+     *
+     * @param cipherAlgorithmEnum 加解密数据的算法
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 附加认证数据，不是AEAD算法、未开启或者不在请求中时返回 null
+     */
+    private static byte[] getAad(CipherAlgorithmEnum cipherAlgorithmEnum, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        if (!cipherAlgorithmEnum.isAead() || !secureApiPropertiesConfig.isAeadAadEnabled()) {
+            return null;
+        }
+        SecureApiContext secureApiContext = SecureApiThreadLocal.getSecureApiContext();
+        if (secureApiContext.getRequestMethod() == null) {
+            return null;
+        }
+        return (secureApiContext.getRequestMethod() + " " + secureApiContext.getRequestUri()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 获取解密后的会话密钥，同一个请求只解密一次，结果保存在 SecureApiContext 中
+     *
+     * @param secureApiContext 本次请求的上下文
+     * @param secureApiPropertiesConfig key配置信息
+     * @return 解密后的会话密钥
+     */
+    private static String getSessionKey(SecureApiContext secureApiContext, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        String decryptSessionKey = secureApiContext.getSessionKey();
+        if (decryptSessionKey != null) {
+            return decryptSessionKey;
+        }
+        // 兼容在全局配置中设置会话密钥的旧用法
+        String sessionKey = secureApiContext.getKey() != null ? secureApiContext.getKey() : secureApiPropertiesConfig.getKey();
+        if (!StringUtils.hasText(sessionKey)) {
+            throw new SecureApiException(ErrorEnum.SESSION_KEY_EMPTY);
+        }
+        // 使用RSA私钥解密会话密钥，同一个会话密钥只解密一次
+        try {
+            decryptSessionKey = SessionKeyCache.get(sessionKey, encryptSessionKey -> secureApiPropertiesConfig.getCipherAlgorithmEnum().decrypt(encryptSessionKey, secureApiPropertiesConfig));
+        } catch (SecureApiException e) {
+            throw new SecureApiException(ErrorEnum.SESSION_KEY_DECRYPT_ERROR);
         }
-        return cipherAlgorithmEnum.decrypt(content, secureApiPropertiesConfig);
+        secureApiContext.setSessionKey(decryptSessionKey);
+        return decryptSessionKey;
     }
 }
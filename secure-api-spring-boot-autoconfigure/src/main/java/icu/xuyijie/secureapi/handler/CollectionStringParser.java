@@ -0,0 +1,299 @@
+package icu.xuyijie.secureapi.handler;
+
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.ResolvableType;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 18:30
+ * @description List、Set、Queue、数组和 Map 参数的字符串解析，一次遍历同时支持 toString() 形式（[a, b]、{a=1, b=2}）和 JSON 形式（["a","b"]、{"a":1}），
+ * 双引号内的逗号、等号、冒号不会被当作分隔符，元素按参数的泛型类型转换
+ */
+final class CollectionStringParser {
+    /**
+     * 元素转换方法，把单个元素字符串转换为泛型类型
+     */
+    @FunctionalInterface
+    interface ElementConverter {
+        /**
+         * @param token 元素字符串，已去除首尾空白，JSON 字符串已去除双引号并处理转义
+         * @param quoted 元素是否是双引号包裹的 JSON 字符串
+         * @param json 元素所在的容器是否是 JSON 形式，JSON 形式中没有双引号的元素是数字、布尔值或 null
+         * @param elementType 元素的泛型类型
+         * @return 转换后的元素
+         */
+        Object convert(String token, boolean quoted, boolean json, ResolvableType elementType) throws Exception;
+    }
+
+    private final ElementConverter elementConverter;
+
+    CollectionStringParser(ElementConverter elementConverter) {
+        this.elementConverter = elementConverter;
+    }
+
+    /**
+     * 是否是需要把字符串转换为容器的类型
+     *
+     * @param type 参数或字段类型
+     * @return List、Set、Queue、Map 或数组返回 true
+     */
+    static boolean isContainerType(Class<?> type) {
+        return List.class.isAssignableFrom(type) || type.isArray() || Set.class.isAssignableFrom(type) || Queue.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+    }
+
+    /**
+     * 把字符串解析为容器
+     *
+     * @param value 字符串
+     * @param type 参数或字段的完整泛型类型
+     * @return 容器对象，不是容器类型时返回 null
+     */
+    Object parse(String value, ResolvableType type) throws Exception {
+        Class<?> rawType = type.toClass();
+        if (!isContainerType(rawType)) {
+            return null;
+        }
+        int start = skipWhitespace(value, 0, value.length());
+        int end = trimEnd(value, start, value.length());
+        // 去除可能因数据转换过程中产生的首尾多余的双引号，如 "[a, b]"
+        if (end - start > 1 && value.charAt(start) == '"' && value.charAt(end - 1) == '"') {
+            int innerStart = skipWhitespace(value, start + 1, end - 1);
+            if (innerStart < end - 1 && (value.charAt(innerStart) == '[' || value.charAt(innerStart) == '{')) {
+                start = innerStart;
+                end = trimEnd(value, start, end - 1);
+            }
+        }
+        if (Map.class.isAssignableFrom(rawType)) {
+            if (end - start > 1 && value.charAt(start) == '{' && value.charAt(end - 1) == '}') {
+                start++;
+                end--;
+            }
+            ResolvableType mapType = type.asMap();
+            ResolvableType keyType = mapType.getGeneric(0);
+            ResolvableType valueType = mapType.getGeneric(1);
+            Map<Object, Object> map = CollectionFactory.createMap(rawType, keyType.resolve(), 16);
+            parseEntries(value, start, end, keyType, valueType, map);
+            return map;
+        }
+        if (end - start > 1 && value.charAt(start) == '[' && value.charAt(end - 1) == ']') {
+            start++;
+            end--;
+        }
+        if (rawType.isArray()) {
+            ResolvableType componentType = type.getComponentType();
+            List<Object> elementList = new ArrayList<>();
+            parseElements(value, start, end, componentType, elementList);
+            Object array = Array.newInstance(rawType.getComponentType(), elementList.size());
+            for (int i = 0; i < elementList.size(); i++) {
+                Array.set(array, i, elementList.get(i));
+            }
+            return array;
+        }
+        ResolvableType elementType = type.asCollection().getGeneric(0);
+        Collection<Object> collection = createCollection(rawType, elementType.resolve(Object.class));
+        parseElements(value, start, end, elementType, collection);
+        return collection;
+    }
+
+    private Collection<Object> createCollection(Class<?> rawType, Class<?> elementClass) {
+        if (rawType == Deque.class) {
+            return new ArrayDeque<>();
+        }
+        if (rawType == Queue.class) {
+            // 元素可以比较时保持原来的优先队列，否则按顺序排队
+            return Comparable.class.isAssignableFrom(elementClass) ? new PriorityQueue<>() : new LinkedList<>();
+        }
+        return CollectionFactory.createCollection(rawType, elementClass, 16);
+    }
+
+    private void parseElements(String s, int start, int end, ResolvableType elementType, Collection<Object> elementList) throws Exception {
+        // 只有元素类型是 Object 时才需要区分 JSON 形式，其它类型按泛型转换，结果相同
+        boolean json = elementType.resolve(Object.class) == Object.class && isJsonArray(s, start, end);
+        int i = skipWhitespace(s, start, end);
+        while (i < end) {
+            int tokenEnd = scanValue(s, i, end, false, false);
+            elementList.add(convertToken(s, i, tokenEnd, json, elementType));
+            if (tokenEnd >= end) {
+                break;
+            }
+            i = skipWhitespace(s, tokenEnd + 1, end);
+        }
+    }
+
+    private void parseEntries(String s, int start, int end, ResolvableType keyType, ResolvableType valueType, Map<Object, Object> map) throws Exception {
+        int i = skipWhitespace(s, start, end);
+        while (i < end) {
+            // JSON 的 key 一定有双引号，分隔符是冒号；toString 形式的 key 没有双引号，分隔符是等号，key 中的冒号（如时间）不能当作分隔符
+            boolean quotedKey = s.charAt(i) == '"';
+            int keyEnd = scanValue(s, i, end, true, quotedKey);
+            Object key = convertToken(s, i, keyEnd, quotedKey, keyType);
+            int entryEnd = keyEnd;
+            Object entryValue = null;
+            if (keyEnd < end && s.charAt(keyEnd) != ',') {
+                entryEnd = scanValue(s, keyEnd + 1, end, false, false);
+                entryValue = convertToken(s, skipWhitespace(s, keyEnd + 1, entryEnd), entryEnd, quotedKey, valueType);
+            }
+            map.put(key, entryValue);
+            if (entryEnd >= end) {
+                break;
+            }
+            i = skipWhitespace(s, entryEnd + 1, end);
+        }
+    }
+
+    /**
+     * 找到当前值的结束位置，即最外层的下一个逗号，嵌套的 []、{} 和双引号内的字符都会跳过
+     *
+     * @param stopAtEquals 是否在最外层的等号处结束，用于 map 的 key
+     * @param stopAtColon 是否在最外层的冒号处结束，用于 JSON map 的 key
+     * @return 结束位置，没有逗号时返回 end
+     */
+    private static int scanValue(String s, int start, int end, boolean stopAtEquals, boolean stopAtColon) {
+        int depth = 0;
+        // 只有出现在值开头或者 [ { , : 之后的双引号才是 JSON 字符串，toString 形式的元素中间可能有普通双引号
+        boolean quoteAllowed = true;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '"' && quoteAllowed) {
+                i = skipQuoted(s, i, end);
+                quoteAllowed = false;
+                continue;
+            }
+            switch (c) {
+                case '[', '{' -> depth++;
+                case ']', '}' -> depth--;
+                case ',' -> {
+                    if (depth <= 0) {
+                        return i;
+                    }
+                }
+                case '=' -> {
+                    if (stopAtEquals && depth <= 0) {
+                        return i;
+                    }
+                }
+                case ':' -> {
+                    if (stopAtColon && depth <= 0) {
+                        return i;
+                    }
+                }
+                default -> {
+                }
+            }
+            if (!Character.isWhitespace(c)) {
+                quoteAllowed = c == '[' || c == '{' || c == ',' || c == ':';
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 跳过双引号包裹的字符串
+     *
+     * @param quoteIndex 开头双引号的位置
+     * @return 结尾双引号的位置，没有结尾双引号时返回 end - 1
+     */
+    private static int skipQuoted(String s, int quoteIndex, int end) {
+        for (int i = quoteIndex + 1; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i;
+            }
+        }
+        return end - 1;
+    }
+
+    /**
+     * 数组是否是 JSON 形式：有双引号包裹的元素，或者分隔的逗号后面没有空格（toString() 形式的逗号后面一定有空格）
+     */
+    private static boolean isJsonArray(String s, int start, int end) {
+        int i = skipWhitespace(s, start, end);
+        boolean compact = true;
+        while (i < end) {
+            if (s.charAt(i) == '"') {
+                return true;
+            }
+            int tokenEnd = scanValue(s, i, end, false, false);
+            if (tokenEnd >= end) {
+                break;
+            }
+            if (tokenEnd + 1 < end && Character.isWhitespace(s.charAt(tokenEnd + 1))) {
+                compact = false;
+            }
+            i = skipWhitespace(s, tokenEnd + 1, end);
+        }
+        return compact;
+    }
+
+    private Object convertToken(String s, int start, int end, boolean json, ResolvableType type) throws Exception {
+        end = trimEnd(s, start, end);
+        boolean quoted = end - start > 1 && s.charAt(start) == '"' && skipQuoted(s, start, end) == end - 1 && s.charAt(end - 1) == '"';
+        String token = quoted ? unescape(s, start + 1, end - 1) : s.substring(start, end);
+        return elementConverter.convert(token, quoted, json, type);
+    }
+
+    /**
+     * 处理 JSON 字符串中的转义字符，没有转义字符时直接截取
+     */
+    private static String unescape(String s, int start, int end) {
+        int backslashIndex = s.indexOf('\\', start);
+        if (backslashIndex < 0 || backslashIndex >= end) {
+            return s.substring(start, end);
+        }
+        StringBuilder sb = new StringBuilder(end - start);
+        sb.append(s, start, backslashIndex);
+        for (int i = backslashIndex; i < end; i++) {
+            char c = s.charAt(i);
+            if (c != '\\' || i + 1 >= end) {
+                sb.append(c);
+                continue;
+            }
+            char escaped = s.charAt(++i);
+            switch (escaped) {
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (i + 4 < end) {
+                        sb.append((char) Integer.parseInt(s, i + 1, i + 5, 16));
+                        i += 4;
+                    } else {
+                        sb.append(escaped);
+                    }
+                }
+                default -> sb.append(escaped);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int skipWhitespace(String s, int start, int end) {
+        while (start < end && Character.isWhitespace(s.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(String s, int start, int end) {
+        while (end > start && Character.isWhitespace(s.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,201 @@
+package icu.xuyijie.secureapi.handler;
+
+import icu.xuyijie.secureapi.cipher.enums.CipherAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.enums.CompressAlgorithmEnum;
+import icu.xuyijie.secureapi.constant.HeaderConstant;
+import icu.xuyijie.secureapi.exception.ErrorEnum;
+import icu.xuyijie.secureapi.exception.SecureApiException;
+import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 22:25
+ * @description 加密前压缩、解密后解压，压缩时在 X-Secure-Api-Compress 头中写入压缩算法，解压时根据请求头判断
+ * 明文的数字签名始终基于压缩前的数据，基于密文的数字签名基于压缩并加密后的数据
+ */
+final class CompressHandler {
+    private CompressHandler() {
+
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(CompressHandler.class);
+
+    /**
+     * 明文是否需要压缩
+     *
+     * @param length 明文字节数
+     * @param secureApiPropertiesConfig 配置
+     * @return 是否压缩
+     */
+    static boolean isCompress(int length, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        return secureApiPropertiesConfig.isCompressEnabled() && length >= secureApiPropertiesConfig.getCompressThreshold();
+    }
+
+    /**
+     * 压缩明文并设置响应头
+     *
+     * @param content 明文
+     * @param httpHeaders 响应头
+     * @param secureApiPropertiesConfig 配置
+     * @return 压缩后的明文
+     */
+    static byte[] compress(byte[] content, HttpHeaders httpHeaders, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        CompressAlgorithmEnum compressAlgorithm = secureApiPropertiesConfig.getCompressAlgorithm();
+        setHeader(httpHeaders, secureApiPropertiesConfig);
+        try {
+            return compressAlgorithm.compress(content);
+        } catch (IOException e) {
+            log.error("数据压缩失败，压缩算法：{}", compressAlgorithm, e);
+            throw new SecureApiException(ErrorEnum.COMPRESS_ERROR);
+        }
+    }
+
+    /**
+     * 设置 X-Secure-Api-Compress 响应头
+     *
+     * @param httpHeaders 响应头
+     * @param secureApiPropertiesConfig 配置
+     */
+    static void setHeader(HttpHeaders httpHeaders, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        checkCipherAlgorithm(secureApiPropertiesConfig);
+        httpHeaders.set(HeaderConstant.X_SECURE_API_COMPRESS, secureApiPropertiesConfig.getCompressAlgorithm().getValue());
+    }
+
+    /**
+     * 根据 X-Secure-Api-Compress 请求头获取请求体的压缩算法，未开启压缩时忽略请求头
+     *
+     * @param httpHeaders 请求头
+     * @param secureApiPropertiesConfig 配置
+     * @return 压缩算法，请求体没有压缩时为 null
+     */
+    static CompressAlgorithmEnum getCompressAlgorithm(HttpHeaders httpHeaders, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        if (!secureApiPropertiesConfig.isCompressEnabled()) {
+            return null;
+        }
+        String value = httpHeaders.getFirst(HeaderConstant.X_SECURE_API_COMPRESS);
+        if (value == null) {
+            return null;
+        }
+        CompressAlgorithmEnum compressAlgorithm = CompressAlgorithmEnum.fromValue(value.trim());
+        if (compressAlgorithm == null || !compressAlgorithm.isAvailable()) {
+            log.error("不支持的请求体压缩算法：{}", value);
+            throw new SecureApiException(ErrorEnum.COMPRESS_ERROR);
+        }
+        checkCipherAlgorithm(secureApiPropertiesConfig);
+        return compressAlgorithm;
+    }
+
+    /**
+     * 本次请求加解密数据的算法不能是 NO_PADDING 算法，压缩后的数据经常以0x00结尾，解密时会被当作补全字符去除
+     * 启动时已经检查过全局配置，这里检查通过 SecureApiContext 为单个请求指定的算法
+     *
+     * @param secureApiPropertiesConfig 配置
+     */
+    private static void checkCipherAlgorithm(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        CipherAlgorithmEnum cipherAlgorithm = CipherModeHandler.getDataCipherAlgorithm(secureApiPropertiesConfig);
+        if (cipherAlgorithm.getFillLength() > 0) {
+            log.error("{} 不能和加密前压缩同时使用", cipherAlgorithm);
+            throw new SecureApiException(ErrorEnum.COMPRESS_CIPHER_ERROR);
+        }
+    }
+
+    /**
+     * 解压明文，边解压边统计大小，超过 decompressMaxSize 时立即停止，不会把整个解压结果读入内存
+     *
+     * @param content 解密后的明文
+     * @param compressAlgorithm 压缩算法
+     * @param secureApiPropertiesConfig 配置
+     * @return 解压后的明文
+     */
+    static byte[] decompress(byte[] content, CompressAlgorithmEnum compressAlgorithm, SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        int maxSize = secureApiPropertiesConfig.getDecompressMaxSize();
+        try (InputStream inputStream = compressAlgorithm.decompress(new ByteArrayInputStream(content))) {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream((int) Math.max(Math.min(content.length * 4L, maxSize), 64));
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                total += length;
+                checkSize(total, maxSize);
+                byteArrayOutputStream.write(buffer, 0, length);
+            }
+            return byteArrayOutputStream.toByteArray();
+        } catch (IOException e) {
+            log.error("数据解压失败，压缩算法：{}", compressAlgorithm, e);
+            throw new SecureApiException(ErrorEnum.COMPRESS_ERROR);
+        }
+    }
+
+    /**
+     * 包装为边读取边解压的流，读取的数据超过 decompressMaxSize 时抛出异常
+     *
+     * @param content 解密后的明文流
+     * @param compressAlgorithm 压缩算法
+     * @param secureApiPropertiesConfig 配置
+     * @return 解压后的明文流
+     */
+    static InputStream decompress(InputStream content, CompressAlgorithmEnum compressAlgorithm, SecureApiPropertiesConfig secureApiPropertiesConfig) throws IOException {
+        return new LimitInputStream(compressAlgorithm.decompress(content), secureApiPropertiesConfig.getDecompressMaxSize());
+    }
+
+    private static void checkSize(long total, int maxSize) {
+        if (total > maxSize) {
+            log.error("解压后的数据超过 {} 字节，拒绝处理", maxSize);
+            throw new SecureApiException(ErrorEnum.DECOMPRESS_SIZE_ERROR);
+        }
+    }
+
+    /**
+     * 限制读取总字节数的流
+     */
+    private static final class LimitInputStream extends FilterInputStream {
+        private final int maxSize;
+        private long total = 0;
+
+        LimitInputStream(InputStream in, int maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                checkSize(++total, maxSize);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int length = super.read(b, off, len);
+            if (length > 0) {
+                total += length;
+                checkSize(total, maxSize);
+            }
+            return length;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long length = super.skip(n);
+            total += length;
+            checkSize(total, maxSize);
+            return length;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
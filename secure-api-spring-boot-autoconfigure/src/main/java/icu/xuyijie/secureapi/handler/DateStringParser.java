@@ -0,0 +1,148 @@
+package icu.xuyijie.secureapi.handler;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalQuery;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 17:50
+ * @description 日期字符串解析，按字符串的形状（长度、分隔符、数字和字母的位置）记住上一次匹配成功的格式，
+ * 同一形状的日期之后优先使用该格式解析，失败时仍然尝试全部格式；尝试格式时先用 parseUnresolved 做不抛异常的格式匹配，避免大量 DateTimeParseException
+ */
+final class DateStringParser {
+    /**
+     * 最多缓存的形状数量，超过后清空重新缓存
+     */
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    private final List<DateTimeFormatter> dateFormatterList;
+    private final Map<ShapeKey, Integer> shapeCache = new ConcurrentHashMap<>();
+
+    /**
+     * 形状缓存的 key
+     *
+     * @param targetType 目标日期类型
+     * @param shape 日期字符串的形状，数字替换为 9，字母替换为 a，其余字符保留
+     */
+    private record ShapeKey(Class<?> targetType, String shape) {
+    }
+
+    /**
+     * @param dateFormatterList 候选格式，按优先级排序，多个格式都能解析时使用排在前面的
+     */
+    DateStringParser(List<DateTimeFormatter> dateFormatterList) {
+        this.dateFormatterList = List.copyOf(dateFormatterList);
+    }
+
+    /**
+     * 把字符串解析为日期
+     *
+     * @param string 日期字符串
+     * @param targetType 目标类型，支持 Date、LocalDateTime、LocalDate、LocalTime、OffsetDateTime、ZonedDateTime
+     * @return 日期对象，没有匹配的格式或者不支持的类型返回 null
+     */
+    Object parse(String string, Class<?> targetType) {
+        TemporalQuery<?> query = getQuery(targetType);
+        if (query == null) {
+            return null;
+        }
+        ShapeKey shapeKey = new ShapeKey(targetType, getShape(string));
+        Integer index = shapeCache.get(shapeKey);
+        if (index != null) {
+            DateTimeFormatter formatter = dateFormatterList.get(index);
+            Object result = isFormatMatched(string, formatter) ? resolve(string, formatter, query) : null;
+            if (result != null) {
+                return toTargetType(result, targetType);
+            }
+        }
+        // 新的形状，或者同一形状下的值超出了缓存格式的范围，按优先级依次尝试
+        // 解析失败不做缓存，字母和数字都被归为同一形状，一个非法值（如 "09:32 XX"）不能导致同一形状的合法值（如 "09:32 AM"）也无法解析
+        for (int i = 0; i < dateFormatterList.size(); i++) {
+            DateTimeFormatter formatter = dateFormatterList.get(i);
+            if (!isFormatMatched(string, formatter)) {
+                continue;
+            }
+            Object result = resolve(string, formatter, query);
+            if (result != null) {
+                cacheShape(shapeKey, i);
+                return toTargetType(result, targetType);
+            }
+        }
+        return null;
+    }
+
+    private TemporalQuery<?> getQuery(Class<?> targetType) {
+        if (targetType == Date.class || targetType == LocalDateTime.class) {
+            return LocalDateTime::from;
+        } else if (targetType == LocalDate.class) {
+            return LocalDate::from;
+        } else if (targetType == LocalTime.class) {
+            return LocalTime::from;
+        } else if (targetType == OffsetDateTime.class) {
+            return OffsetDateTime::from;
+        } else if (targetType == ZonedDateTime.class) {
+            return ZonedDateTime::from;
+        }
+        return null;
+    }
+
+    private Object toTargetType(Object result, Class<?> targetType) {
+        if (targetType == Date.class) {
+            return Date.from(((LocalDateTime) result).atZone(TimeZone.getDefault().toZoneId()).toInstant());
+        }
+        return result;
+    }
+
+    /**
+     * 只做格式匹配，不匹配时通过 ParsePosition 返回错误位置，不会抛出异常
+     */
+    private boolean isFormatMatched(String string, DateTimeFormatter formatter) {
+        ParsePosition position = new ParsePosition(0);
+        return formatter.parseUnresolved(string, position) != null && position.getErrorIndex() < 0 && position.getIndex() == string.length();
+    }
+
+    /**
+     * 格式匹配后再解析为目标类型，缺少字段或者数值越界时仍然会失败，失败返回 null
+     */
+    private Object resolve(String string, DateTimeFormatter formatter, TemporalQuery<?> query) {
+        try {
+            return formatter.parse(string, query);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private void cacheShape(ShapeKey shapeKey, int index) {
+        if (shapeCache.size() >= MAX_CACHE_SIZE) {
+            shapeCache.clear();
+        }
+        shapeCache.put(shapeKey, index);
+    }
+
+    private static String getShape(String string) {
+        char[] shape = new char[string.length()];
+        for (int i = 0; i < shape.length; i++) {
+            char c = string.charAt(i);
+            if (c >= '0' && c <= '9') {
+                shape[i] = '9';
+            } else if (Character.isLetter(c)) {
+                shape[i] = 'a';
+            } else {
+                shape[i] = c;
+            }
+        }
+        return new String(shape);
+    }
+}
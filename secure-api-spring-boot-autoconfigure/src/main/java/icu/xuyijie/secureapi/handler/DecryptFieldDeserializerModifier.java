@@ -0,0 +1,186 @@
+package icu.xuyijie.secureapi.handler;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import icu.xuyijie.secureapi.annotation.DecryptField;
+import icu.xuyijie.secureapi.exception.ErrorEnum;
+import icu.xuyijie.secureapi.exception.SecureApiException;
+import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 23:45
+ * @description 字段级解密，把 @DecryptField 字段的反序列化器替换为先解密再反序列化的 DecryptFieldDeserializer
+ * 请求体的其它部分按明文解析，只有加密的字段执行解密，支持字段和 setter，不支持构造方法参数
+ */
+public class DecryptFieldDeserializerModifier extends BeanDeserializerModifier {
+    /**
+     * 注册到 ObjectMapper 的 Module 名称，重复注册时 Jackson 会忽略
+     */
+    public static final String MODULE_NAME = "SecureApiDecryptFieldModule";
+
+    private final transient SecureApiPropertiesConfig secureApiPropertiesConfig;
+
+    public DecryptFieldDeserializerModifier(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        this.secureApiPropertiesConfig = secureApiPropertiesConfig;
+    }
+
+    /**
+     * 创建包含字段级解密的 Module
+     *
+     * @param secureApiPropertiesConfig 配置
+     * @return Module
+     */
+    public static SimpleModule createModule(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        return new SimpleModule(MODULE_NAME).setDeserializerModifier(new DecryptFieldDeserializerModifier(secureApiPropertiesConfig));
+    }
+
+    @Override
+    public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc, BeanDeserializerBuilder builder) {
+        if (!secureApiPropertiesConfig.isEnabled()) {
+            return builder;
+        }
+        // 先收集再替换，遍历时不能修改
+        List<SettableBeanProperty> decryptPropertyList = new ArrayList<>();
+        Iterator<SettableBeanProperty> iterator = builder.getProperties();
+        while (iterator.hasNext()) {
+            SettableBeanProperty property = iterator.next();
+            if (property.getAnnotation(DecryptField.class) != null) {
+                decryptPropertyList.add(property);
+            }
+        }
+        for (SettableBeanProperty property : decryptPropertyList) {
+            builder.addOrReplaceProperty(property.withValueDeserializer(new DecryptFieldDeserializer(secureApiPropertiesConfig, null, false)), true);
+        }
+        return builder;
+    }
+
+    /**
+     * 先解密再反序列化，字段值必须是密文字符串，明文格式和 @EncryptField 一致：序列化结果是 json 字符串的类型加密时去掉了两边的双引号，其它类型是 json 值
+     * 字符串、枚举、UUID、char、日期等类型始终作为 VALUE_STRING 交给原来的反序列化器，明文是 true、null、123 时也不会被当作 json 解析
+     * createContextual 时获取字段原来的反序列化器，@JsonFormat 等字段上的注解仍然生效
+     */
+    static final class DecryptFieldDeserializer extends JsonDeserializer<Object> implements ContextualDeserializer {
+        private final SecureApiPropertiesConfig secureApiPropertiesConfig;
+
+        /**
+         * 字段原来的反序列化器
+         */
+        private final JsonDeserializer<Object> delegate;
+
+        /**
+         * 字段序列化后是否是 json 字符串
+         */
+        private final boolean stringShape;
+
+        DecryptFieldDeserializer(SecureApiPropertiesConfig secureApiPropertiesConfig, JsonDeserializer<Object> delegate, boolean stringShape) {
+            this.secureApiPropertiesConfig = secureApiPropertiesConfig;
+            this.delegate = delegate;
+            this.stringShape = stringShape;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+            JavaType type = property.getType();
+            return new DecryptFieldDeserializer(secureApiPropertiesConfig, ctxt.findContextualValueDeserializer(type, property), isStringShape(type, property.findPropertyFormat(ctxt.getConfig(), type.getRawClass()).getShape()));
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.VALUE_STRING) {
+                throw new SecureApiException(ErrorEnum.DECRYPT_ERROR);
+            }
+            String decrypt = CipherModeHandler.handleDecryptMode(p.getText(), secureApiPropertiesConfig);
+            ObjectCodec codec = p.getCodec();
+            if (stringShape) {
+                String text = unescape(decrypt, codec);
+                if (delegate.getClass() == StringDeserializer.class) {
+                    return text;
+                }
+                TokenBuffer tokenBuffer = new TokenBuffer(codec, false);
+                tokenBuffer.writeString(text);
+                try (JsonParser stringParser = tokenBuffer.asParser(codec)) {
+                    stringParser.nextToken();
+                    return delegate.deserialize(stringParser, ctxt);
+                }
+            }
+            JsonNode jsonNode;
+            try (JsonParser decryptParser = codec.getFactory().createParser(decrypt)) {
+                jsonNode = codec.readTree(decryptParser);
+            } catch (IOException e) {
+                // 使用 @JsonValue 等方式序列化为字符串的自定义类型
+                jsonNode = TextNode.valueOf(decrypt);
+            }
+            if (jsonNode == null) {
+                jsonNode = TextNode.valueOf(decrypt);
+            }
+            if (jsonNode.isNull()) {
+                return delegate.getNullValue(ctxt);
+            }
+            try (JsonParser treeParser = codec.treeAsTokens(jsonNode)) {
+                treeParser.nextToken();
+                return delegate.deserialize(treeParser, ctxt);
+            }
+        }
+
+        /**
+         * 加密时去掉了 json 字符串两边的双引号，转义字符仍然保留，加上双引号按 json 字符串解析还原
+         * 不是合法的 json 字符串内容时，说明加密前没有转义，直接使用明文
+         */
+        private static String unescape(String decrypt, ObjectCodec codec) {
+            if (decrypt.indexOf('\\') < 0) {
+                return decrypt;
+            }
+            try (JsonParser stringParser = codec.getFactory().createParser('"' + decrypt + '"')) {
+                stringParser.nextToken();
+                String text = stringParser.getText();
+                return stringParser.nextToken() == null ? text : decrypt;
+            } catch (IOException e) {
+                return decrypt;
+            }
+        }
+
+        /**
+         * 字段序列化后是否是 json 字符串，@JsonFormat 指定了 shape 时以指定的为准
+         */
+        private static boolean isStringShape(JavaType type, JsonFormat.Shape shape) {
+            if (shape == JsonFormat.Shape.STRING) {
+                return true;
+            }
+            if (shape != JsonFormat.Shape.ANY && shape != JsonFormat.Shape.NATURAL) {
+                return false;
+            }
+            Class<?> rawClass = type.getRawClass();
+            return type.isEnumType()
+                    || CharSequence.class.isAssignableFrom(rawClass)
+                    || rawClass == Character.class || rawClass == char.class
+                    || rawClass == UUID.class
+                    || Date.class.isAssignableFrom(rawClass)
+                    || Calendar.class.isAssignableFrom(rawClass)
+                    || TemporalAccessor.class.isAssignableFrom(rawClass)
+                    || ZoneId.class.isAssignableFrom(rawClass)
+                    || TimeZone.class.isAssignableFrom(rawClass)
+                    || rawClass == Locale.class || rawClass == Currency.class
+                    || rawClass == URI.class || rawClass == URL.class
+                    || rawClass == byte[].class;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package icu.xuyijie.secureapi.handler;
 
+import icu.xuyijie.secureapi.cipher.enums.CompressAlgorithmEnum;
 import icu.xuyijie.secureapi.cipher.utils.RsaSignatureUtils;
 import icu.xuyijie.secureapi.constant.HeaderConstant;
 import icu.xuyijie.secureapi.exception.ErrorEnum;
@@ -15,7 +16,6 @@ import org.springframework.lang.NonNull;
 import java.io.*;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
-import java.util.stream.Collectors;
 
 /**
  * @author 徐一杰
@@ -27,36 +27,69 @@ public class DecryptHttpInputMessage implements HttpInputMessage {
     private final HttpHeaders httpHeaders;
     private final InputStream body;
 
-    public DecryptHttpInputMessage(Method method, HttpInputMessage inputMessage, SecureApiPropertiesConfig secureApiPropertiesConfig, RsaSignatureUtils rsaSignatureUtils) {
+    public DecryptHttpInputMessage(Method method, HttpInputMessage inputMessage, SecureApiPropertiesConfig secureApiPropertiesConfig, RsaSignatureUtils rsaSignatureUtils) throws IOException {
         // 一般请求头里的内容不做加密解密处理
         httpHeaders = inputMessage.getHeaders();
         // 数字签名
         String signature = httpHeaders.getFirst(HeaderConstant.X_SIGNATURE);
-        // 取出请求的body
-        String content;
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputMessage.getBody()))) {
-            content = bufferedReader
-                    .lines()
-                    .collect(Collectors.joining(System.lineSeparator()));
+        // 二进制传输，请求体是原始密文，不需要去除双引号和Base64解码
+        boolean binary = CipherModeHandler.isBinary(httpHeaders.getContentType(), secureApiPropertiesConfig);
+        // 请求体在加密前经过了压缩，解密后需要先解压
+        CompressAlgorithmEnum compressAlgorithm = CompressHandler.getCompressAlgorithm(httpHeaders, secureApiPropertiesConfig);
+        // 流式解密，边读取边解密，Jackson 解析时才真正读取请求体
+        // 开启数字签名时必须先校验完整的请求体，校验通过前不能把解密的数据交给 Jackson，所以不使用流式解密
+        if (secureApiPropertiesConfig.isStreamingEnabled() && !secureApiPropertiesConfig.isSignEnabled() && CipherModeHandler.isStreamSupported(secureApiPropertiesConfig)) {
+            body = getStreamBody(inputMessage, binary, compressAlgorithm, secureApiPropertiesConfig);
+            if (secureApiPropertiesConfig.isShowLog()) {
+                log.info("\n接口参数体流式解密\n方法：{}\n模式：{}\n解密算法：{}", method, secureApiPropertiesConfig.getMode(), CipherModeHandler.getDataCipherAlgorithm(secureApiPropertiesConfig));
+            }
+            return;
+        }
+
+        // 取出请求的body，直接读取字节，不再按行拆分再拼接成字符串
+        byte[] content;
+        try (InputStream inputStream = inputMessage.getBody()) {
+            content = inputStream.readAllBytes();
         } catch (IOException e) {
             log.error("获取请求体失败", e);
             body = null;
             return;
         }
 
-        // 去除json值两边的双引号
-        if (content.length() > 1 && content.charAt(0) == '"' && content.charAt(content.length() - 1) == '"') {
-            content = content.substring(0, content.length() - 1).replaceFirst("\"", "");
+        // 去除首尾空白和json值两边的双引号，只移动下标，不复制数组，二进制传输的密文中可能有任意字节，不做处理，流式解密时 TrimQuoteInputStream 的处理和这里一致
+        int start = 0;
+        int end = content.length;
+        if (!binary) {
+            while (start < end && Character.isWhitespace(content[start])) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(content[end - 1])) {
+                end--;
+            }
+            if (end - start > 1 && content[start] == '"' && content[end - 1] == '"') {
+                start++;
+                end--;
+            }
+        }
+
+        // 基于密文的数字签名在解密前校验，伪造的请求不会执行解密
+        boolean signVerify = true;
+        if (secureApiPropertiesConfig.isSignEnabled() && secureApiPropertiesConfig.isSignCiphertextEnabled()) {
+            signVerify = rsaSignatureUtils.verify(content, start, end - start, signature);
+            if (!signVerify) {
+                throw new SecureApiException(ErrorEnum.SIGNATURE_ERROR);
+            }
         }
 
         // 解密
-        String decryptBody = CipherModeHandler.handleDecryptMode(content, secureApiPropertiesConfig);
-        byte[] decryptBodyBytes = decryptBody.getBytes(StandardCharsets.UTF_8);
+        byte[] decryptBodyBytes = CipherModeHandler.handleDecryptMode(content, start, end - start, binary, secureApiPropertiesConfig);
+        if (compressAlgorithm != null) {
+            decryptBodyBytes = CompressHandler.decompress(decryptBodyBytes, compressAlgorithm, secureApiPropertiesConfig);
+        }
         body = new ByteArrayInputStream(decryptBodyBytes);
 
-        // 数字签名校验
-        boolean signVerify = true;
-        if (secureApiPropertiesConfig.isSignEnabled()) {
+        // 数字签名校验，明文的数字签名基于解压后的数据
+        if (secureApiPropertiesConfig.isSignEnabled() && !secureApiPropertiesConfig.isSignCiphertextEnabled()) {
             signVerify = rsaSignatureUtils.verify(decryptBodyBytes, signature);
             if (!signVerify) {
                 throw new SecureApiException(ErrorEnum.SIGNATURE_ERROR);
@@ -64,14 +97,33 @@ public class DecryptHttpInputMessage implements HttpInputMessage {
         }
 
         if (secureApiPropertiesConfig.isShowLog()) {
+            String encryptBody = binary ? "二进制密文，" + (end - start) + " 字节" : new String(content, start, end - start, StandardCharsets.UTF_8);
             if (SecureApiProperties.Mode.COMMON == secureApiPropertiesConfig.getMode()) {
-                log.info("\n接口参数体解密\n方法：{}\n模式：{}\n解密算法：{}\n解密前：{}\n解密后：{}\n数字签名：{}\n校验结果：{}", method, secureApiPropertiesConfig.getMode(), secureApiPropertiesConfig.getCipherAlgorithmEnum(), content, decryptBody, signature, signVerify);
+                log.info("\n接口参数体解密\n方法：{}\n模式：{}\n解密算法：{}\n解密前：{}\n解密后：{}\n数字签名：{}\n校验结果：{}", method, secureApiPropertiesConfig.getMode(), secureApiPropertiesConfig.getCipherAlgorithmEnum(), encryptBody, new String(decryptBodyBytes, StandardCharsets.UTF_8), signature, signVerify);
             } else {
-                log.info("\n接口参数体解密\n方法：{}\n模式：{}\n会话密钥算法：{}\n解密算法：{}\n解密前：{}\n解密后：{}\n数字签名：{}\n校验结果：{}", method, secureApiPropertiesConfig.getMode(), secureApiPropertiesConfig.getSessionKeyCipherAlgorithm(), secureApiPropertiesConfig.getCipherAlgorithmEnum(), content, decryptBody, signature, signVerify);
+                log.info("\n接口参数体解密\n方法：{}\n模式：{}\n会话密钥算法：{}\n解密算法：{}\n解密前：{}\n解密后：{}\n数字签名：{}\n校验结果：{}", method, secureApiPropertiesConfig.getMode(), secureApiPropertiesConfig.getSessionKeyCipherAlgorithm(), secureApiPropertiesConfig.getCipherAlgorithmEnum(), encryptBody, new String(decryptBodyBytes, StandardCharsets.UTF_8), signature, signVerify);
             }
         }
     }
 
+    /**
+     * 获取流式解密的请求体，原始流 -> 去除首尾空白和双引号 -> Base64解码 -> 解密 -> 解压，二进制传输时没有 去除双引号 和 Base64解码
+     *
+     * @param inputMessage 原始请求
+     * @param binary 是否是二进制传输
+     * @param compressAlgorithm 请求体的压缩算法，没有压缩时为 null
+     * @param secureApiPropertiesConfig 配置
+     * @return 明文流
+     */
+    private InputStream getStreamBody(HttpInputMessage inputMessage, boolean binary, CompressAlgorithmEnum compressAlgorithm, SecureApiPropertiesConfig secureApiPropertiesConfig) throws IOException {
+        InputStream encryptBody = binary ? inputMessage.getBody() : new TrimQuoteInputStream(inputMessage.getBody());
+        InputStream decryptBody = CipherModeHandler.handleDecryptMode(encryptBody, binary, secureApiPropertiesConfig);
+        if (compressAlgorithm != null) {
+            decryptBody = CompressHandler.decompress(decryptBody, compressAlgorithm, secureApiPropertiesConfig);
+        }
+        return decryptBody;
+    }
+
     @Override
     @NonNull
     public InputStream getBody() {
@@ -0,0 +1,146 @@
+package icu.xuyijie.secureapi.handler;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+import icu.xuyijie.secureapi.annotation.EncryptField;
+import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 23:10
+ * @description 字段级加密，把 @EncryptField 字段和返回值根对象的 responseBodyDataField 字段替换为加密的 BeanPropertyWriter
+ * 只有使用带 ENCRYPT_FIELD_ATTRIBUTE 属性的 ObjectWriter 序列化时才加密，secureApiObjectMapper 的其它序列化不受影响
+ */
+public class EncryptFieldSerializerModifier extends BeanSerializerModifier {
+    /**
+     * ObjectWriter 属性，值为 Boolean.TRUE 时加密字段，序列化需要加密的字段值时临时设置为 Boolean.FALSE，字段值内部的 @EncryptField 字段不会被重复加密
+     */
+    public static final Object ENCRYPT_FIELD_ATTRIBUTE = EncryptFieldSerializerModifier.class;
+
+    /**
+     * 注册到 secureApiObjectMapper 的 Module 名称
+     */
+    public static final String MODULE_NAME = "SecureApiEncryptFieldModule";
+
+    private final transient SecureApiPropertiesConfig secureApiPropertiesConfig;
+
+    public EncryptFieldSerializerModifier(SecureApiPropertiesConfig secureApiPropertiesConfig) {
+        this.secureApiPropertiesConfig = secureApiPropertiesConfig;
+    }
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+        String responseBodyDataField = secureApiPropertiesConfig.getResponseBodyDataField();
+        for (int i = 0; i < beanProperties.size(); i++) {
+            BeanPropertyWriter beanPropertyWriter = beanProperties.get(i);
+            if (beanPropertyWriter.getAnnotation(EncryptField.class) != null) {
+                beanProperties.set(i, new EncryptPropertyWriter(beanPropertyWriter, secureApiPropertiesConfig, false));
+            } else if (beanPropertyWriter.getName().equals(responseBodyDataField)) {
+                beanProperties.set(i, new EncryptPropertyWriter(beanPropertyWriter, secureApiPropertiesConfig, true));
+            }
+        }
+        return beanProperties;
+    }
+
+    /**
+     * 加密字段值的 BeanPropertyWriter，字段值使用字段自己的序列化器写为 json，字符串类型去掉两边的双引号，加密后写为 Base64 字符串
+     * 字段上的 @JsonFormat、@JsonSerialize 和多态类型信息都和不加密时一致，和 readTree 后加密 data 节点的结果相同，但是只需要序列化一次返回值
+     */
+    static final class EncryptPropertyWriter extends BeanPropertyWriter {
+        private static final long serialVersionUID = 1L;
+
+        private final transient SecureApiPropertiesConfig secureApiPropertiesConfig;
+
+        /**
+         * 是否只加密根对象的字段，responseBodyDataField 只加密返回值最外层的字段
+         */
+        private final boolean rootOnly;
+
+        EncryptPropertyWriter(BeanPropertyWriter base, SecureApiPropertiesConfig secureApiPropertiesConfig, boolean rootOnly) {
+            super(base);
+            this.secureApiPropertiesConfig = secureApiPropertiesConfig;
+            this.rootOnly = rootOnly;
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (!Boolean.TRUE.equals(prov.getAttribute(ENCRYPT_FIELD_ATTRIBUTE)) || (rootOnly && !isRoot(gen))) {
+                super.serializeAsField(bean, gen, prov);
+                return;
+            }
+            Object value = get(bean);
+            // null 值按原来的方式处理，遵守 @JsonInclude 等配置
+            if (value == null) {
+                super.serializeAsField(bean, gen, prov);
+                return;
+            }
+            // 和 BeanPropertyWriter 一样获取字段的序列化器，字段声明类型不是最终类型时按实际类型查找
+            JsonSerializer<Object> serializer = _serializer;
+            if (serializer == null) {
+                Class<?> cls = value.getClass();
+                PropertySerializerMap propertySerializerMap = _dynamicSerializers;
+                serializer = propertySerializerMap.serializerFor(cls);
+                if (serializer == null) {
+                    serializer = _findAndAddDynamic(propertySerializerMap, cls, prov);
+                }
+            }
+            if (_suppressableValue != null) {
+                if (MARKER_FOR_EMPTY == _suppressableValue) {
+                    if (serializer.isEmpty(prov, value)) {
+                        return;
+                    }
+                } else if (_suppressableValue.equals(value)) {
+                    return;
+                }
+            }
+            String json = serializePlaintext(value, serializer, gen, prov);
+            if (json.length() > 1 && json.charAt(0) == '"' && json.charAt(json.length() - 1) == '"') {
+                json = json.substring(1, json.length() - 1);
+            }
+            gen.writeFieldName(_name);
+            gen.writeString(CipherModeHandler.handleEncryptMode(json, secureApiPropertiesConfig));
+        }
+
+        /**
+         * 使用字段的序列化器把字段值写到单独的 JsonGenerator 中，序列化期间关闭字段加密
+         */
+        private String serializePlaintext(Object value, JsonSerializer<Object> serializer, JsonGenerator gen, SerializerProvider prov) throws IOException {
+            ObjectCodec codec = gen.getCodec();
+            JsonFactory jsonFactory = codec == null ? new JsonFactory() : codec.getFactory();
+            StringWriter stringWriter = new StringWriter();
+            prov.setAttribute(ENCRYPT_FIELD_ATTRIBUTE, Boolean.FALSE);
+            try (JsonGenerator plaintextGenerator = jsonFactory.createGenerator(stringWriter)) {
+                prov.getConfig().initialize(plaintextGenerator);
+                if (_typeSerializer == null) {
+                    serializer.serialize(value, plaintextGenerator, prov);
+                } else {
+                    serializer.serializeWithType(value, plaintextGenerator, prov, _typeSerializer);
+                }
+            } finally {
+                prov.setAttribute(ENCRYPT_FIELD_ATTRIBUTE, Boolean.TRUE);
+            }
+            return stringWriter.toString();
+        }
+
+        /**
+         * 当前写出的对象是否是返回值根对象
+         */
+        private static boolean isRoot(JsonGenerator gen) {
+            JsonStreamContext parent = gen.getOutputContext().getParent();
+            return parent != null && parent.inRoot();
+        }
+    }
+}
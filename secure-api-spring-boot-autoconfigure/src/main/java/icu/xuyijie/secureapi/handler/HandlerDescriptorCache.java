@@ -0,0 +1,112 @@
+package icu.xuyijie.secureapi.handler;
+
+import icu.xuyijie.secureapi.annotation.DecryptApi;
+import icu.xuyijie.secureapi.annotation.DecryptIgnore;
+import icu.xuyijie.secureapi.annotation.DecryptParam;
+import icu.xuyijie.secureapi.annotation.EncryptApi;
+import icu.xuyijie.secureapi.annotation.EncryptIgnore;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 16:40
+ * @description 接口方法和参数上加解密注解的解析结果缓存，第一次请求时解析，之后每次请求只需要查一次map
+ * 使用 Spring 的合并注解语义查找，注解写在父类、接口或者组合注解上也能生效
+ */
+final class HandlerDescriptorCache {
+    private HandlerDescriptorCache() {
+
+    }
+
+    private static final MethodDescriptor EMPTY_METHOD_DESCRIPTOR = new MethodDescriptor(false, false, false, false);
+
+    private static final Map<MethodKey, MethodDescriptor> METHOD_DESCRIPTOR_CACHE = new ConcurrentHashMap<>();
+    private static final Map<MethodParameter, ParameterDescriptor> PARAMETER_DESCRIPTOR_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 方法缓存的 key，同一个方法被不同的子类 Controller 继承时，类上的注解可能不同
+     *
+     * @param method 接口方法
+     * @param containingClass 接口所在的类
+     */
+    private record MethodKey(Method method, Class<?> containingClass) {
+    }
+
+    /**
+     * 接口方法的加解密注解解析结果，方法和类上的注解合并在一起
+     *
+     * @param encryptApi 方法或类上有 @EncryptApi
+     * @param encryptIgnore 方法或类上有 @EncryptIgnore
+     * @param decryptApi 方法或类上有 @DecryptApi
+     * @param decryptIgnore 方法或类上有 @DecryptIgnore
+     */
+    record MethodDescriptor(boolean encryptApi, boolean encryptIgnore, boolean decryptApi, boolean decryptIgnore) {
+    }
+
+    /**
+     * 接口参数的解析结果
+     *
+     * @param decryptParam 合并后的 @DecryptParam，没有则为 null
+     * @param decryptIgnore 参数上有 @DecryptIgnore
+     * @param containerType 参数是 List、Set、Queue、Map 或数组这类需要把字符串转换为容器的类型
+     * @param resolvableType 参数的完整泛型类型，容器元素按泛型转换
+     */
+    record ParameterDescriptor(DecryptParam decryptParam, boolean decryptIgnore, boolean containerType, ResolvableType resolvableType) {
+    }
+
+    /**
+     * 获取接口方法的加解密注解解析结果
+     *
+     * @param methodParameter 方法参数或返回值
+     * @return 解析结果
+     */
+    static MethodDescriptor getMethodDescriptor(MethodParameter methodParameter) {
+        Method method = methodParameter.getMethod();
+        if (method == null) {
+            return EMPTY_METHOD_DESCRIPTOR;
+        }
+        return METHOD_DESCRIPTOR_CACHE.computeIfAbsent(new MethodKey(method, methodParameter.getContainingClass()), HandlerDescriptorCache::createMethodDescriptor);
+    }
+
+    /**
+     * 获取接口参数的解析结果
+     *
+     * @param parameter 方法参数
+     * @return 解析结果
+     */
+    static ParameterDescriptor getParameterDescriptor(MethodParameter parameter) {
+        return PARAMETER_DESCRIPTOR_CACHE.computeIfAbsent(parameter, HandlerDescriptorCache::createParameterDescriptor);
+    }
+
+    private static MethodDescriptor createMethodDescriptor(MethodKey methodKey) {
+        Method method = methodKey.method();
+        Class<?> clazz = methodKey.containingClass() != null ? methodKey.containingClass() : method.getDeclaringClass();
+        return new MethodDescriptor(
+                hasAnnotation(method, clazz, EncryptApi.class),
+                hasAnnotation(method, clazz, EncryptIgnore.class),
+                hasAnnotation(method, clazz, DecryptApi.class),
+                hasAnnotation(method, clazz, DecryptIgnore.class)
+        );
+    }
+
+    private static boolean hasAnnotation(Method method, Class<?> clazz, Class<? extends Annotation> annotationType) {
+        return AnnotatedElementUtils.hasAnnotation(method, annotationType) || AnnotatedElementUtils.hasAnnotation(clazz, annotationType);
+    }
+
+    private static ParameterDescriptor createParameterDescriptor(MethodParameter parameter) {
+        // HandlerMethod 的参数注解已经合并了接口方法上的参数注解，再按合并注解语义处理组合注解和 @AliasFor
+        AnnotatedElement annotatedElement = AnnotatedElementUtils.forAnnotations(parameter.getParameterAnnotations());
+        DecryptParam decryptParam = AnnotatedElementUtils.findMergedAnnotation(annotatedElement, DecryptParam.class);
+        boolean decryptIgnore = AnnotatedElementUtils.hasAnnotation(annotatedElement, DecryptIgnore.class);
+        boolean containerType = CollectionStringParser.isContainerType(parameter.getParameterType());
+        return new ParameterDescriptor(decryptParam, decryptIgnore, containerType, ResolvableType.forMethodParameter(parameter));
+    }
+}
@@ -1,9 +1,8 @@
 package icu.xuyijie.secureapi.handler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import icu.xuyijie.secureapi.annotation.DecryptIgnore;
 import icu.xuyijie.secureapi.annotation.DecryptParam;
 import icu.xuyijie.secureapi.config.ThreadPoolConfig;
 import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
@@ -13,10 +12,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.ConversionNotSupportedException;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.lang.NonNull;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
-import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.WebDataBinder;
@@ -28,10 +29,6 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.Temporal;
 import java.util.*;
@@ -45,16 +42,18 @@ import java.util.concurrent.CompletableFuture;
 @Component
 public class SecureApiArgumentResolver implements HandlerMethodArgumentResolver {
     private final Logger log = LoggerFactory.getLogger(SecureApiArgumentResolver.class);
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
     private final ThreadPoolTaskExecutor threadPool = ThreadPoolConfig.secureThreadPool();
 
     private final SecureApiPropertiesConfig secureApiPropertiesConfig;
     private final ObjectMapper secureApiObjectMapper;
-    private final List<DateTimeFormatter> dateFormatterList;
+    private final DateStringParser dateStringParser;
+    private final CollectionStringParser collectionStringParser = new CollectionStringParser(this::convertElement);
 
     public SecureApiArgumentResolver(SecureApiPropertiesConfig secureApiPropertiesConfig, ObjectMapper secureApiObjectMapper) {
         this.secureApiPropertiesConfig = secureApiPropertiesConfig;
         this.secureApiObjectMapper = secureApiObjectMapper;
-        dateFormatterList = List.of(
+        dateStringParser = new DateStringParser(List.of(
                 DateTimeFormatter.ofPattern(this.secureApiPropertiesConfig.getDateFormat()),
                 DateTimeFormatter.ofPattern(this.secureApiPropertiesConfig.getLocalDateTimeFormat()),
                 DateTimeFormatter.ofPattern(this.secureApiPropertiesConfig.getLocalDateFormat()),
@@ -115,19 +114,16 @@ public class SecureApiArgumentResolver implements HandlerMethodArgumentResolver
                 DateTimeFormatter.ISO_LOCAL_DATE_TIME,
                 DateTimeFormatter.RFC_1123_DATE_TIME,
                 DateTimeFormatter.ISO_INSTANT
-        );
+        ));
     }
 
     @Override
     public boolean supportsParameter(@NonNull MethodParameter parameter) {
         if (secureApiPropertiesConfig.isEnabled()) {
-            boolean parameterAnnotation = parameter.hasParameterAnnotation(DecryptParam.class);
-            // 获取参数类型
-            Class<?> parameterType = parameter.getParameterType();
-            // 根据参数类型，获取对象，如果对象为空，可能是实体类，放行，下面会检测实体类字段哪些需要解密
-            Object o = getObjectByType(parameterType, "");
+            // 注解和参数类型的解析结果按参数缓存
+            HandlerDescriptorCache.ParameterDescriptor parameterDescriptor = HandlerDescriptorCache.getParameterDescriptor(parameter);
             // 四种情况走这个处理器：1、配置了解密url并参数没有加@RequestParam、@RequestPart注解。2、参数加了@DecryptParam注解。3、参数是实体类。4、传值为null(按需处理defaultValue)
-            return SecureApiThreadLocal.getIsDecryptApi() || parameterAnnotation || o == null;
+            return SecureApiThreadLocal.getIsDecryptApi() || parameterDescriptor.decryptParam() != null || !parameterDescriptor.containerType();
         }
         return false;
     }
@@ -139,7 +135,8 @@ public class SecureApiArgumentResolver implements HandlerMethodArgumentResolver
         if (!StringUtils.hasText(parameterName)) {
             return null;
         }
-        DecryptParam decryptParam = parameter.getParameterAnnotation(DecryptParam.class);
+        HandlerDescriptorCache.ParameterDescriptor parameterDescriptor = HandlerDescriptorCache.getParameterDescriptor(parameter);
+        DecryptParam decryptParam = parameterDescriptor.decryptParam();
         boolean hasDecryptParam = decryptParam != null;
         // 存在注解重新设置参数名
         if (hasDecryptParam && StringUtils.hasText(decryptParam.value())) {
@@ -155,7 +152,7 @@ public class SecureApiArgumentResolver implements HandlerMethodArgumentResolver
             throw new MissingServletRequestParameterException(decryptParam.value(), parameterType.getTypeName());
         }
         // 解密参数值，这里再判断一次是应对实体类作为参数的情况，参数是实体类时 @DecryptParam 注解在字段上，无法在 supportsParameter 方法中判断，只能进入到这里判断，如果用户很傻在实体类参数上加了 @DecryptParam 也没关系，不会报错
-        boolean isDecryptParam = SecureApiThreadLocal.getIsDecryptApi() && !parameter.hasParameterAnnotation(DecryptIgnore.class) || hasDecryptParam;
+        boolean isDecryptParam = SecureApiThreadLocal.getIsDecryptApi() && !parameterDescriptor.decryptIgnore() || hasDecryptParam;
         if (isDecryptParam) {
             parameterValue = CipherModeHandler.handleDecryptMode(parameterValue, secureApiPropertiesConfig);
         }
@@ -163,7 +160,7 @@ public class SecureApiArgumentResolver implements HandlerMethodArgumentResolver
         Object result = null;
         if (parameterValue != null) {
             // 特定参数类型需要处理成对象，不需要处理的类型保持原值
-            result = getObjectByType(parameterType, parameterValue);
+            result = getObjectByType(parameterDescriptor.resolvableType(), parameterValue);
             if (result == null) {
                 result = parameterValue;
             }
@@ -171,10 +168,12 @@ public class SecureApiArgumentResolver implements HandlerMethodArgumentResolver
         } else {
             // 自定义的实体类类型或者传入值为null的情况
             try {
+                // 实体类的构造方法、字段和类型转换方式按类缓存
+                BindingPlanCache.BindingPlan bindingPlan = BindingPlanCache.getBindingPlan(parameterType);
                 // 实例化对象
-                result = parameterType.getDeclaredConstructor().newInstance();
-                // 递归获取对象内字段
-                getAllFields(webRequest, parameterType, result);
+                result = bindingPlan.newInstance();
+                // 设置对象内字段，包含父类字段
+                getAllFields(webRequest, bindingPlan, result);
             } catch (Exception e) {
                 // 参数解密失败或者参数不是实体类而是为null不解密返回defaultValue
                 if (hasDecryptParam && StringUtils.hasText(decryptParam.defaultValue())) {
@@ -199,160 +198,154 @@ public class SecureApiArgumentResolver implements HandlerMethodArgumentResolver
     }
 
     /**
-     * 把List进行toString后的字符串转回List
+     * 把字符串转换为对应类型数据，如果没有对应类型，返回null
      *
-     * @param s List进行toString后的字符串
-     * @return 转回List数组
+     * @param parameterType 对应类型，包含泛型
+     * @param parameterValue 字符串
+     * @return 字符串转换为对应类型数据，如果没有对应类型，返回null
      */
-    private List<String> handleListString(String s) {
+    private Object getObjectByType(ResolvableType parameterType, String parameterValue) {
+        if (parameterValue == null) {
+            return null;
+        }
         try {
-            // 判断是否是合法的list字符串
-            if (s.length() > 1 && s.charAt(0) == '[' && s.charAt(s.length() - 1) == ']') {
-                // 去除字符串开头和结尾的[]
-                s = s.substring(0, s.length() - 1).replaceFirst("\\[", "");
-                // 如果不是空list
-                if (StringUtils.hasText(s)) {
-                    // 如果字符串是list.toString转换出来的，那么逗号后面会有一个空格，还会用引号包裹每个元素，都要把它们去掉
-                    if (s.charAt(0) == '"' && s.charAt(s.length() - 1) == '"' && (s.contains("\", \"") || s.contains("\",\""))) {
-                        s = s.substring(0, s.length() - 1).replaceFirst("\"", "").replace("\", \"", ",").replace("\",\"", ",");
-                    } else {
-                        s = s.replace(", ", ",");
-                    }
-                    return Arrays.asList(s.split(","));
-                }
-            }
+            return collectionStringParser.parse(parameterValue, parameterType);
         } catch (Exception e) {
-            try {
-                return secureApiObjectMapper.readValue(s, new TypeReference<>() {});
-            } catch (JsonProcessingException ex) {
-                log.error("非法的List字符串，无法反序列化为list：{}", s, ex);
-            }
+            log.error("参数值：{} 无法转换为 {}，转换失败", parameterValue, parameterType, e);
+            return null;
         }
-        return Collections.emptyList();
     }
 
     /**
-     * 把字符串转换为对应类型数据，如果没有对应类型，返回null
+     * 把容器中的单个元素字符串转换为泛型类型
      *
-     * @param parameterType 对应类型
-     * @param parameterValue 字符串
-     * @return 字符串转换为对应类型数据，如果没有对应类型，返回null
+     * @param token 元素字符串
+     * @param quoted 元素是否是双引号包裹的 JSON 字符串
+     * @param json 元素所在的容器是否是 JSON 形式
+     * @param elementType 元素泛型类型
+     * @return 转换后的元素
      */
-    private Object getObjectByType(Class<?> parameterType, String parameterValue) {
-        if (parameterValue == null) {
+    private Object convertElement(String token, boolean quoted, boolean json, ResolvableType elementType) throws Exception {
+        Class<?> elementClass = elementType.resolve(Object.class);
+        if (elementClass == String.class || elementClass == CharSequence.class) {
+            return token;
+        }
+        // 没有双引号包裹的 [] 或 {} 是嵌套的 JSON 数组或对象，交给 Jackson 按泛型类型反序列化
+        boolean jsonValue = !quoted && !token.isEmpty() && (token.charAt(0) == '[' || token.charAt(0) == '{');
+        if (jsonValue) {
+            return secureApiObjectMapper.readValue(token, secureApiObjectMapper.constructType(elementType.getType()));
+        }
+        if (elementClass == Object.class) {
+            // JSON 形式中没有双引号的元素是数字、布尔值或 null，和 Jackson 解析 Map、List<Object> 的结果保持一致
+            return json && !quoted ? readJsonScalar(token) : token;
+        }
+        if (!StringUtils.hasText(token)) {
             return null;
         }
-        Object o = null;
-        if (List.class.isAssignableFrom(parameterType)) {
-            o = new ArrayList<>(handleListString(parameterValue));
-        } else if (parameterType.isArray()) {
-            o = handleListString(parameterValue);
-        } else if (Set.class.isAssignableFrom(parameterType)) {
-            o = new HashSet<>(handleListString(parameterValue));
-        } else if (Queue.class.isAssignableFrom(parameterType)) {
-            o = new PriorityQueue<>(handleListString(parameterValue));
-        } else if (Map.class.isAssignableFrom(parameterType)) {
-            try {
-                // 这种情况适用于 map.toString() 方法转换的字符串形式：["a=哈哈", "b=嘿嘿"]
-                // 去除可能因数据转换过程中产生的收尾多余的双引号、大括号、空格
-                String s = handleHeadAndTailQuotationMarks(parameterValue);
-                if (s.length() > 1 && s.charAt(0) == '{' && s.charAt(s.length() - 1) == '}') {
-                    s = s.substring(1, s.length() - 1);
-                }
-                String[] kvs = s.split(",");
-                if (kvs.length > 0 && StringUtils.hasText(kvs[0])) {
-                    Map<String, String> map = new HashMap<>(kvs.length);
-                    for (String kv : kvs) {
-                        String[] split = kv.split("=");
-                        map.put(split[0].replace(" ", ""), split[1]);
-                    }
-                    o = map;
-                } else {
-                    o = new HashMap<>(0);
-                }
-            } catch (Exception e) {
-                try {
-                    // 去除可能因数据转换过程中产生的收尾多余的双引号
-                    String s = handleHeadAndTailQuotationMarks(parameterValue);
-                    o = secureApiObjectMapper.readValue(s, Map.class);
-                } catch (JsonProcessingException ex) {
-                    log.error("参数值：{} 不符合map格式，转换失败", parameterValue, ex);
-                }
-            }
+        if (elementClass == Date.class || Temporal.class.isAssignableFrom(elementClass)) {
+            return convertStringAsDate(token, elementClass);
+        }
+        if (CONVERSION_SERVICE.canConvert(String.class, elementClass)) {
+            return CONVERSION_SERVICE.convert(token, elementClass);
         }
-        return o;
+        return token;
     }
 
     /**
-     * 去除可能因数据转换过程中产生的收尾多余的双引号
+     * 使用 Jackson 解析 JSON 的数字、布尔值或 null，不是合法的 JSON 值时返回原字符串
      *
-     * @param s 原始字符串
-     * @return 去除了头部和尾部双引号的字符串
+     * @param token 元素字符串
+     * @return Integer、Long、Double、BigInteger、Boolean、null 或原字符串
+     */
+    private Object readJsonScalar(String token) {
+        if (token.isEmpty()) {
+            return token;
+        }
+        char c = token.charAt(0);
+        if (c != '-' && (c < '0' || c > '9') && !"true".equals(token) && !"false".equals(token) && !"null".equals(token)) {
+            return token;
+        }
+        try {
+            // 不允许合法值后面还有其它内容，如 "12 ab" 不能解析为 12
+            return secureApiObjectMapper.readerFor(Object.class).with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS).readValue(token);
+        } catch (JsonProcessingException e) {
+            return token;
+        }
+    }
+
+    /**
+     * 设置实体类所有字段，包含父类字段
+     * @param webRequest 请求信息
+     * @param bindingPlan 实体类绑定计划
+     * @param result 实体类实例
      */
-    private String handleHeadAndTailQuotationMarks(String s) {
-        if (s.length() > 1 && s.charAt(0) == '"' && s.charAt(s.length() - 1) == '"') {
-            s = s.substring(1, s.length() - 1);
+    private void getAllFields(WebRequest webRequest, BindingPlanCache.BindingPlan bindingPlan, Object result) {
+        List<BindingPlanCache.FieldBinding> fieldList = bindingPlan.fieldBindingList();
+        // 普通实体类字段不多，单个字段解密只需要几微秒，线程切换和上下文传递的开销反而更大，直接在当前线程处理
+        int parallelBindThreshold = secureApiPropertiesConfig.getParallelBindThreshold();
+        if (parallelBindThreshold <= 0 || fieldList.size() < parallelBindThreshold) {
+            for (BindingPlanCache.FieldBinding field : fieldList) {
+                setFieldValue(webRequest, result, field);
+            }
+            return;
         }
-        return s;
+        // 字段特别多时按批次提交到线程池，每批一个任务，第一批由当前线程处理；线程池队列有界，队列满时由当前线程执行，形成背压
+        int batchCount = Math.min(threadPool.getMaxPoolSize() + 1, fieldList.size());
+        int batchSize = (fieldList.size() + batchCount - 1) / batchCount;
+        List<CompletableFuture<Void>> completableFutureList = new ArrayList<>(batchCount);
+        for (int from = batchSize; from < fieldList.size(); from += batchSize) {
+            List<BindingPlanCache.FieldBinding> batch = fieldList.subList(from, Math.min(from + batchSize, fieldList.size()));
+            completableFutureList.add(CompletableFuture.runAsync(() -> {
+                for (BindingPlanCache.FieldBinding field : batch) {
+                    setFieldValue(webRequest, result, field);
+                }
+            }, threadPool));
+        }
+        for (BindingPlanCache.FieldBinding field : fieldList.subList(0, batchSize)) {
+            setFieldValue(webRequest, result, field);
+        }
+        CompletableFuture.allOf(completableFutureList.toArray(new CompletableFuture[0])).join();
     }
 
     /**
-     * 递归获取所有父类字段
+     * 从请求中获取字段对应的参数值，按需解密并转换类型后设置到实体类字段
      * @param webRequest 请求信息
-     * @param parameterType 实体类参数类型
      * @param result 实体类实例
+     * @param field 字段绑定信息
      */
-    private void getAllFields(WebRequest webRequest, Class<?> parameterType, Object result) {
-        // 实体类字段一般会比较多，采用异步编排提高性能
-        List<CompletableFuture<Void>> completableFutureList = new ArrayList<>();
-        Class<?> clazz = parameterType;
-        while (clazz != null) {
-            for (Field field : clazz.getDeclaredFields()) {
-                completableFutureList.add(CompletableFuture.runAsync(() -> {
-                    field.setAccessible(true);
-                    String fieldName = field.getName();
-                    try {
-                        if (Modifier.isFinal(field.getModifiers())) {
-                            return;
-                        }
-                        // 获取对应字段参数值
-                        String encryptField = webRequest.getParameter(fieldName);
-                        String objectParameterValue = encryptField;
-                        boolean isDecryptParam = field.isAnnotationPresent(DecryptParam.class);
-                        boolean isDecryptIgnore = field.isAnnotationPresent(DecryptIgnore.class);
-                        boolean isDecryptField = SecureApiThreadLocal.getIsDecryptApi() && !isDecryptIgnore || isDecryptParam;
-                        if (isDecryptField) {
-                            // 解密字段参数值
-                            objectParameterValue = CipherModeHandler.handleDecryptMode(objectParameterValue, secureApiPropertiesConfig);
-                            showLog(parameterType.getSimpleName() + "." + fieldName, encryptField, objectParameterValue);
-                        }
-                        // 获取字段类型
-                        Class<?> fieldType = field.getType();
-                        // 获取字段包装类型
-                        Class<?> fieldPackageType = ClassUtils.resolvePrimitiveIfNecessary(fieldType);
-                        // 设置对象字段值
-                        Object o = getObjectByType(fieldPackageType, objectParameterValue);
-                        // 转换String字符串为实体类字段类型
-                        if (StringUtils.hasText(objectParameterValue) && o == null) {
-                            // 处理日期类型
-                            if (fieldPackageType == Date.class || Temporal.class.isAssignableFrom(fieldPackageType)) {
-                                o = convertStringAsDate(objectParameterValue, fieldPackageType);
-                            } else {
-                                Constructor<?> constructor = fieldPackageType.getConstructor(objectParameterValue.getClass());
-                                o = constructor.newInstance(objectParameterValue);
-                            }
-                        }
-                        if (o != null) {
-                            field.set(result, o);
-                        }
-                    } catch (Exception e) {
-                        log.error("实体类字段：{} 设置出现异常，跳过此字段值的设置", parameterType.getSimpleName() + "." + fieldName, e);
+    private void setFieldValue(WebRequest webRequest, Object result, BindingPlanCache.FieldBinding field) {
+        try {
+            // 获取对应字段参数值
+            String encryptField = webRequest.getParameter(field.name());
+            String objectParameterValue = encryptField;
+            boolean isDecryptField = SecureApiThreadLocal.getIsDecryptApi() && !field.decryptIgnore() || field.decryptParam();
+            if (isDecryptField) {
+                // 解密字段参数值
+                objectParameterValue = CipherModeHandler.handleDecryptMode(objectParameterValue, secureApiPropertiesConfig);
+                showLog(field.logName(), encryptField, objectParameterValue);
+            }
+            if (objectParameterValue == null) {
+                return;
+            }
+            // 转换String字符串为实体类字段类型
+            Object o = switch (field.valueKind()) {
+                case STRING -> StringUtils.hasText(objectParameterValue) ? objectParameterValue : null;
+                case CONTAINER -> getObjectByType(field.resolvableType(), objectParameterValue);
+                case DATE -> StringUtils.hasText(objectParameterValue) ? convertStringAsDate(objectParameterValue, field.targetType()) : null;
+                case STRING_CONSTRUCTOR -> StringUtils.hasText(objectParameterValue) ? field.construct(objectParameterValue) : null;
+                case UNSUPPORTED -> {
+                    if (StringUtils.hasText(objectParameterValue)) {
+                        throw new NoSuchMethodException(field.targetType().getName() + ".<init>(java.lang.String)");
                     }
-                }, threadPool));
+                    yield null;
+                }
+            };
+            if (o != null) {
+                field.set(result, o);
             }
-            clazz = clazz.getSuperclass();
+        } catch (Exception e) {
+            log.error("实体类字段：{} 设置出现异常，跳过此字段值的设置", field.logName(), e);
         }
-        CompletableFuture.allOf(completableFutureList.toArray(new CompletableFuture[0])).join();
     }
 
     /**
@@ -362,54 +355,11 @@ public class SecureApiArgumentResolver implements HandlerMethodArgumentResolver
      * @return 日期对象
      */
     private Object convertStringAsDate(String string, Class<?> parameterType) {
-        if (parameterType == Date.class) {
-            for (DateTimeFormatter formatter : dateFormatterList) {
-                try {
-                    // 尝试解析 LocalDateTime 类型
-                    LocalDateTime localDateTime = LocalDateTime.parse(string, formatter);
-                    return Date.from(localDateTime.atZone(TimeZone.getDefault().toZoneId()).toInstant());
-                } catch (Exception ignored) {
-                }
-            }
-        } else if (parameterType == LocalDateTime.class) {
-            for (DateTimeFormatter formatter : dateFormatterList) {
-                try {
-                    // 尝试解析 LocalDateTime 类型
-                    return LocalDateTime.parse(string, formatter);
-                } catch (Exception ignored) {
-                }
-            }
-        } else if (parameterType == LocalDate.class) {
-            for (DateTimeFormatter formatter : dateFormatterList) {
-                try {
-                    return LocalDate.parse(string, formatter);
-                } catch (Exception ignored) {
-                }
-            }
-        } else if (parameterType == LocalTime.class) {
-            for (DateTimeFormatter formatter : dateFormatterList) {
-                try {
-                    return LocalTime.parse(string, formatter);
-                } catch (Exception ignored) {
-                }
-            }
-        } else if (parameterType == OffsetDateTime.class) {
-            for (DateTimeFormatter formatter : dateFormatterList) {
-                try {
-                    return OffsetDateTime.parse(string, formatter);
-                } catch (Exception ignored) {
-                }
-            }
-        } else if (parameterType == ZonedDateTime.class) {
-            for (DateTimeFormatter formatter : dateFormatterList) {
-                try {
-                    return ZonedDateTime.parse(string, formatter);
-                } catch (Exception ignored) {
-                }
-            }
+        Object date = dateStringParser.parse(string, parameterType);
+        if (date == null) {
+            log.error("没有匹配的日期转换格式，原值：{}，目标类型：{}", string, parameterType);
         }
-        log.error("没有匹配的日期转换格式，原值：{}，目标类型：{}", string, parameterType);
-        return null;
+        return date;
     }
 
     private void showLog(String paramName, String encryptString, String decryptString) {
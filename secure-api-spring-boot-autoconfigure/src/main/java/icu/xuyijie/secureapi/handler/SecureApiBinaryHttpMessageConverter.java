@@ -0,0 +1,17 @@
+package icu.xuyijie.secureapi.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import icu.xuyijie.secureapi.constant.MediaTypeConstant;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 21:40
+ * @description 二进制传输的消息转换器，只负责让 Content-Type 和 Accept 为 application/x-secure-api 的请求能够匹配到转换器，
+ * 请求体由 DecryptHttpInputMessage 解密为明文 json 后再由 Jackson 反序列化，返回值由 SecureApiResponseHandler 直接写出原始密文
+ */
+public class SecureApiBinaryHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+    public SecureApiBinaryHttpMessageConverter(ObjectMapper secureApiObjectMapper) {
+        super(secureApiObjectMapper, MediaTypeConstant.APPLICATION_SECURE_API);
+    }
+}
@@ -0,0 +1,125 @@
+package icu.xuyijie.secureapi.handler;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import icu.xuyijie.secureapi.cipher.utils.RsaSignatureUtils;
+import icu.xuyijie.secureapi.constant.HeaderConstant;
+import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 15:12
+ * @description 流式加密写出返回值，Jackson 直接序列化到 加密 -> Base64 -> 响应 的输出流中，不再生成中间的 json 字符串和密文字符串
+ * 输出格式和普通模式一致，都是使用双引号包裹的 Base64 密文
+ * 是否加密由 SecureApiResponseHandler 按方法上的注解和 url 匹配结果决定，所以不注册为 HttpMessageConverter，
+ * 由 SecureApiResponseHandler 在 beforeBodyWrite 中直接调用 write 写出响应，再返回 null 让 Spring 不再写出任何内容
+ */
+final class SecureApiEncryptResponseWriter {
+    private final SecureApiPropertiesConfig secureApiPropertiesConfig;
+    private final ObjectMapper secureApiObjectMapper;
+    private final RsaSignatureUtils rsaSignatureUtils;
+
+    SecureApiEncryptResponseWriter(SecureApiPropertiesConfig secureApiPropertiesConfig, ObjectMapper secureApiObjectMapper, RsaSignatureUtils rsaSignatureUtils) {
+        this.secureApiPropertiesConfig = secureApiPropertiesConfig;
+        this.secureApiObjectMapper = secureApiObjectMapper;
+        this.rsaSignatureUtils = rsaSignatureUtils;
+    }
+
+    /**
+     * 加密并写出返回值，写出后 flush 响应
+     *
+     * @param body 返回值
+     * @param contentType 响应的 Content-Type，响应头中已经设置时不覆盖
+     * @param outputMessage 响应
+     */
+    void write(Object body, MediaType contentType, HttpOutputMessage outputMessage) throws IOException {
+        if (outputMessage.getHeaders().getContentType() == null) {
+            outputMessage.getHeaders().setContentType(contentType);
+        }
+        writeBody(body, outputMessage);
+        outputMessage.getBody().flush();
+    }
+
+    private void writeBody(Object body, HttpOutputMessage outputMessage) throws IOException {
+        if (secureApiPropertiesConfig.isSignEnabled() && secureApiPropertiesConfig.isSignCiphertextEnabled()) {
+            writeSignCiphertext(body, outputMessage);
+            return;
+        }
+        byte[] bodyJsonBytes = null;
+        if (secureApiPropertiesConfig.isSignEnabled()) {
+            // 数字签名放在响应头中，必须在写出响应体之前生成，所以开启数字签名后只能先序列化为字节数组
+            bodyJsonBytes = secureApiObjectMapper.writeValueAsBytes(body);
+            outputMessage.getHeaders().add(HeaderConstant.X_SIGNATURE, rsaSignatureUtils.sign(bodyJsonBytes));
+            // 已经有完整的明文，直接判断是否压缩，签名基于压缩前的明文
+            if (CompressHandler.isCompress(bodyJsonBytes.length, secureApiPropertiesConfig)) {
+                bodyJsonBytes = CompressHandler.compress(bodyJsonBytes, outputMessage.getHeaders(), secureApiPropertiesConfig);
+            }
+        }
+
+        // 响应头会在第一次获取响应体时写出
+        ThresholdCompressOutputStream.TargetOpener encryptOpener = compress -> {
+            OutputStream outputStream = outputMessage.getBody();
+            outputStream.write('"');
+            // 关闭加密流时会写出最后一个分组和Base64结尾，不能把响应流也关闭
+            return CipherModeHandler.handleEncryptMode(StreamUtils.nonClosing(outputStream), secureApiPropertiesConfig);
+        };
+        if (bodyJsonBytes != null) {
+            OutputStream encryptOutputStream = encryptOpener.open(false);
+            encryptOutputStream.write(bodyJsonBytes);
+            encryptOutputStream.close();
+        } else {
+            // 没有完整的明文，边序列化边判断是否达到压缩阈值
+            OutputStream plaintextOutputStream = getPlaintextOutputStream(outputMessage, encryptOpener);
+            secureApiObjectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(plaintextOutputStream, body);
+            plaintextOutputStream.close();
+        }
+        outputMessage.getBody().write('"');
+    }
+
+    /**
+     * 开启压缩时包装为 ThresholdCompressOutputStream，明文达到阈值才压缩，打开加密流前设置响应头
+     * 响应头在第一次获取响应体时写出，所以 outputMessage.getBody() 必须放到决定是否压缩之后
+     *
+     * @param outputMessage 响应
+     * @param encryptOpener 打开加密流
+     * @return 明文写入的流
+     */
+    private OutputStream getPlaintextOutputStream(HttpOutputMessage outputMessage, ThresholdCompressOutputStream.TargetOpener encryptOpener) throws IOException {
+        if (!secureApiPropertiesConfig.isCompressEnabled()) {
+            return encryptOpener.open(false);
+        }
+        return new ThresholdCompressOutputStream(secureApiPropertiesConfig.getCompressThreshold(), secureApiPropertiesConfig.getCompressAlgorithm(), compress -> {
+            if (compress) {
+                CompressHandler.setHeader(outputMessage.getHeaders(), secureApiPropertiesConfig);
+            }
+            return encryptOpener.open(compress);
+        });
+    }
+
+    /**
+     * 基于密文的数字签名，Jackson 仍然直接序列化到加密流中，Base64 密文先写入缓冲区，签名后再写出
+     *
+     * @param body 返回值
+     * @param outputMessage 响应
+     */
+    private void writeSignCiphertext(Object body, HttpOutputMessage outputMessage) throws IOException {
+        ByteArrayOutputStream ciphertext = new ByteArrayOutputStream();
+        OutputStream plaintextOutputStream = getPlaintextOutputStream(outputMessage, compress -> CipherModeHandler.handleEncryptMode(ciphertext, secureApiPropertiesConfig));
+        secureApiObjectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(plaintextOutputStream, body);
+        plaintextOutputStream.close();
+        byte[] ciphertextBytes = ciphertext.toByteArray();
+        outputMessage.getHeaders().add(HeaderConstant.X_SIGNATURE, rsaSignatureUtils.sign(ciphertextBytes));
+
+        OutputStream outputStream = outputMessage.getBody();
+        outputStream.write('"');
+        outputStream.write(ciphertextBytes);
+        outputStream.write('"');
+    }
+}
@@ -1,7 +1,5 @@
 package icu.xuyijie.secureapi.handler;
 
-import icu.xuyijie.secureapi.annotation.DecryptApi;
-import icu.xuyijie.secureapi.annotation.DecryptIgnore;
 import icu.xuyijie.secureapi.cipher.utils.RsaSignatureUtils;
 import icu.xuyijie.secureapi.model.SecureApiProperties;
 import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
@@ -15,7 +13,6 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdvice;
 
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 
 /**
@@ -37,13 +34,13 @@ public class SecureApiRequestHandler implements RequestBodyAdvice {
     @Override
     public boolean supports(@NonNull MethodParameter methodParameter, @NonNull Type targetType, @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
         if (secureApiPropertiesConfig.isEnabled()) {
-            Method method = methodParameter.getMethod();
-            if (method != null) {
-                Class<?> declaringClass = method.getDeclaringClass();
-                if (declaringClass.isAnnotationPresent(DecryptApi.class) || method.isAnnotationPresent(DecryptApi.class)) {
+            if (methodParameter.getMethod() != null) {
+                // 注解解析结果按方法缓存
+                HandlerDescriptorCache.MethodDescriptor methodDescriptor = HandlerDescriptorCache.getMethodDescriptor(methodParameter);
+                if (methodDescriptor.decryptApi()) {
                     return true;
                 }
-                return SecureApiThreadLocal.getIsDecryptApi() && !method.isAnnotationPresent(DecryptIgnore.class) && !declaringClass.isAnnotationPresent(DecryptIgnore.class);
+                return SecureApiThreadLocal.getIsDecryptApi() && !methodDescriptor.decryptIgnore();
             }
         }
         return false;
@@ -1,13 +1,14 @@
 package icu.xuyijie.secureapi.handler;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import icu.xuyijie.secureapi.annotation.EncryptApi;
-import icu.xuyijie.secureapi.annotation.EncryptIgnore;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
 import icu.xuyijie.secureapi.cipher.utils.RsaSignatureUtils;
 import icu.xuyijie.secureapi.constant.HeaderConstant;
+import icu.xuyijie.secureapi.constant.MediaTypeConstant;
 import icu.xuyijie.secureapi.exception.ErrorEnum;
 import icu.xuyijie.secureapi.exception.SecureApiException;
 import icu.xuyijie.secureapi.model.SecureApiProperties;
@@ -19,6 +20,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.lang.NonNull;
@@ -26,8 +28,11 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 
 /**
@@ -43,22 +48,36 @@ public class SecureApiResponseHandler implements ResponseBodyAdvice<Object> {
     private final SecureApiPropertiesConfig secureApiPropertiesConfig;
     private final ObjectMapper secureApiObjectMapper;
     private final RsaSignatureUtils rsaSignatureUtils;
+    private final SecureApiEncryptResponseWriter secureApiEncryptResponseWriter;
+    /**
+     * 字段级加密使用的 ObjectWriter，secureApiObjectMapper 没有注册 EncryptFieldSerializerModifier 时为 null
+     */
+    private final ObjectWriter fieldEncryptWriter;
+    /**
+     * 分块加密时序列化集合元素，元素写入块缓冲区后不能关闭缓冲区
+     */
+    private final ObjectWriter chunkedElementWriter;
 
     public SecureApiResponseHandler(SecureApiPropertiesConfig secureApiPropertiesConfig, ObjectMapper secureApiObjectMapper, RsaSignatureUtils rsaSignatureUtils) {
         this.secureApiPropertiesConfig = secureApiPropertiesConfig;
         this.secureApiObjectMapper = secureApiObjectMapper;
         this.rsaSignatureUtils = rsaSignatureUtils;
+        this.secureApiEncryptResponseWriter = new SecureApiEncryptResponseWriter(secureApiPropertiesConfig, secureApiObjectMapper, rsaSignatureUtils);
+        this.fieldEncryptWriter = secureApiObjectMapper.getRegisteredModuleIds().contains(EncryptFieldSerializerModifier.MODULE_NAME)
+                ? secureApiObjectMapper.writer().withAttribute(EncryptFieldSerializerModifier.ENCRYPT_FIELD_ATTRIBUTE, Boolean.TRUE)
+                : null;
+        this.chunkedElementWriter = secureApiObjectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     @Override
     public boolean supports(@NonNull MethodParameter returnType, @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
         if (secureApiPropertiesConfig.isEnabled()) {
-            // 判断逻辑就是方法是否含有 @Encrypt 注解，如果有，表示该接口需要加密处理，如果没有，表示该接口不需要加密处理
-            Class<?> declaringClass = returnType.getDeclaringClass();
-            if (declaringClass.isAnnotationPresent(EncryptApi.class) || returnType.hasMethodAnnotation(EncryptApi.class)) {
+            // 判断逻辑就是方法是否含有 @Encrypt 注解，如果有，表示该接口需要加密处理，如果没有，表示该接口不需要加密处理，注解解析结果按方法缓存
+            HandlerDescriptorCache.MethodDescriptor methodDescriptor = HandlerDescriptorCache.getMethodDescriptor(returnType);
+            if (methodDescriptor.encryptApi()) {
                 return true;
             }
-            return SecureApiThreadLocal.getIsEncryptApi() && !returnType.hasMethodAnnotation(EncryptIgnore.class) && !declaringClass.isAnnotationPresent(EncryptIgnore.class);
+            return SecureApiThreadLocal.getIsEncryptApi() && !methodDescriptor.encryptIgnore();
         }
         return false;
     }
@@ -71,32 +90,128 @@ public class SecureApiResponseHandler implements ResponseBodyAdvice<Object> {
                 return null;
             }
 
-            String bodyJson = secureApiObjectMapper.writeValueAsString(body);
-            if (bodyJson == null) {
-                return body;
+            // 二进制传输，直接写出原始密文，返回 null 后 Spring 不会再写出任何内容
+            if (CipherModeHandler.isBinary(selectedContentType, secureApiPropertiesConfig)) {
+                writeBinary(body, response, returnType);
+                return null;
+            }
+
+            // 分块加密，集合分块序列化、加密并写出，返回 null 后 Spring 不会再写出任何内容
+            if (checkIsChunkedWrite(body, selectedConverterType)) {
+                int chunkCount = ChunkedEncryptWriter.write((Collection<?>) body, response, chunkedElementWriter, secureApiPropertiesConfig);
+                printChunkedLog(returnType, chunkCount);
+                return null;
+            }
+
+            // 流式加密，直接写出响应，返回 null 后 Spring 不会再写出任何内容
+            if (checkIsStreamWrite(body, selectedConverterType)) {
+                secureApiEncryptResponseWriter.write(body, selectedContentType, response);
+                printStreamLog(returnType);
+                return null;
             }
 
+            // 字段级加密，序列化时直接加密 data 字段和 @EncryptField 字段，不再 readTree 后重新序列化
+            if (checkIsFieldEncrypt(body)) {
+                return writeFieldEncrypt(body, response, returnType);
+            }
+
+            // 直接序列化为 UTF-8 字节数组，签名和加密都基于字节进行，省去 String 和 byte[] 之间的来回转换
+            byte[] bodyJsonBytes = secureApiObjectMapper.writeValueAsBytes(body);
+
             // 有些类型转为json后会使用双引号包裹，给它去掉 (像时间类型这种，我们想要返回格式化后的时间必须用 secureApiObjectMapper 处理，所以为了方便所有类型都用 mapper 转换一遍)
             if (checkIsNoNeedObjectMapper(body)) {
-                bodyJson = handleIllegelJsonString(bodyJson);
+                bodyJsonBytes = handleIllegelJsonBytes(bodyJsonBytes);
             }
 
             // 处理数字签名
-            signData(bodyJson, response);
+            if (!secureApiPropertiesConfig.isSignCiphertextEnabled()) {
+                signData(bodyJsonBytes, response);
+            }
 
             // 处理加密
-            String encrypt = handleEncrypt(bodyJson);
+            String encrypt = handleEncrypt(bodyJsonBytes, response);
+
+            // 基于密文的数字签名，Base64 密文只包含 ASCII 字符，配置了 responseBodyDataField 时是整个返回体 json
+            if (secureApiPropertiesConfig.isSignCiphertextEnabled()) {
+                signData(encrypt.getBytes(StandardCharsets.UTF_8), response);
+            }
 
             // 处理日志打印
-            printLog(bodyJson, encrypt, returnType);
+            printLog(bodyJsonBytes, encrypt, returnType);
 
             return encrypt;
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             log.error("返回值转换为Json对象失败，接口加密处理失败，原值：{}", body, e);
             throw new SecureApiException(ErrorEnum.ENCRYPT_ERROR);
         }
     }
 
+    /**
+     * 二进制传输，加密整个返回值并直接写出原始密文，不做Base64编码也不使用双引号包裹，不处理 responseBodyDataField
+     * @param body 返回值
+     * @param response 响应
+     * @param returnType 返回值详细数据
+     * @throws IOException 序列化或写出响应失败
+     */
+    private void writeBinary(Object body, ServerHttpResponse response, MethodParameter returnType) throws IOException {
+        byte[] bodyJsonBytes = secureApiObjectMapper.writeValueAsBytes(body);
+        if (checkIsNoNeedObjectMapper(body)) {
+            bodyJsonBytes = handleIllegelJsonBytes(bodyJsonBytes);
+        }
+        if (!secureApiPropertiesConfig.isSignCiphertextEnabled()) {
+            signData(bodyJsonBytes, response);
+        }
+        byte[] plaintextBytes = bodyJsonBytes;
+        if (CompressHandler.isCompress(bodyJsonBytes.length, secureApiPropertiesConfig)) {
+            plaintextBytes = CompressHandler.compress(bodyJsonBytes, response.getHeaders(), secureApiPropertiesConfig);
+        }
+        byte[] encrypt = CipherModeHandler.handleEncryptMode(plaintextBytes, true, secureApiPropertiesConfig);
+        if (secureApiPropertiesConfig.isSignCiphertextEnabled()) {
+            signData(encrypt, response);
+        }
+        response.getHeaders().setContentType(MediaTypeConstant.APPLICATION_SECURE_API);
+        response.getHeaders().setContentLength(encrypt.length);
+        response.getBody().write(encrypt);
+        printLog(bodyJsonBytes, "二进制密文，" + encrypt.length + " 字节", returnType);
+    }
+
+    /**
+     * 字段级加密，只加密返回值根对象的 responseBodyDataField 字段和 @EncryptField 字段，返回值只序列化一次
+     * 明文只在基于明文的数字签名和日志打印时需要
+     * @param body 返回值
+     * @param response 响应
+     * @param returnType 返回值详细数据
+     * @return 字段加密后的返回值 json
+     * @throws IOException 序列化失败
+     */
+    private String writeFieldEncrypt(Object body, ServerHttpResponse response, MethodParameter returnType) throws IOException {
+        boolean signPlaintext = secureApiPropertiesConfig.isSignEnabled() && !secureApiPropertiesConfig.isSignCiphertextEnabled();
+        byte[] bodyJsonBytes = signPlaintext || secureApiPropertiesConfig.isShowLog() ? secureApiObjectMapper.writeValueAsBytes(body) : null;
+        if (signPlaintext) {
+            signData(bodyJsonBytes, response);
+        }
+        String encrypt = fieldEncryptWriter.writeValueAsString(body);
+        if (secureApiPropertiesConfig.isSignCiphertextEnabled()) {
+            signData(encrypt.getBytes(StandardCharsets.UTF_8), response);
+        }
+        if (bodyJsonBytes != null) {
+            printLog(bodyJsonBytes, encrypt, returnType);
+        }
+        return encrypt;
+    }
+
+    /**
+     * 检查是否使用字段级加密，Map、JsonNode 等不是由 BeanSerializer 写出的返回值没有字段可以替换，仍然使用 readTree 的方式
+     * @param body 值
+     * @return 是否使用字段级加密
+     * @throws IOException 获取序列化器失败
+     */
+    private boolean checkIsFieldEncrypt(Object body) throws IOException {
+        return fieldEncryptWriter != null
+                && secureApiPropertiesConfig.getResponseBodyDataField() != null
+                && secureApiObjectMapper.getSerializerProviderInstance().findValueSerializer(body.getClass()) instanceof BeanSerializerBase;
+    }
+
     /**
      * 检查是否 不 需要使用ObjectMapper序列化
      * @param body 值
@@ -107,6 +222,37 @@ public class SecureApiResponseHandler implements ResponseBodyAdvice<Object> {
         return body instanceof String || body instanceof Date || body instanceof Temporal;
     }
 
+    /**
+     * 检查是否使用流式加密
+     * 配置了 responseBodyDataField 时需要修改返回体，字符串等类型不是由 Jackson 写出，这些情况都使用原来的方式
+     * @param body 值
+     * @param selectedConverterType Spring 选择的消息转换器
+     * @return 是否使用流式加密
+     */
+    private boolean checkIsStreamWrite(Object body, Class<? extends HttpMessageConverter<?>> selectedConverterType) {
+        return secureApiPropertiesConfig.isStreamingEnabled()
+                && secureApiPropertiesConfig.getResponseBodyDataField() == null
+                && !checkIsNoNeedObjectMapper(body)
+                && AbstractJackson2HttpMessageConverter.class.isAssignableFrom(selectedConverterType)
+                && CipherModeHandler.isStreamSupported(secureApiPropertiesConfig);
+    }
+
+    /**
+     * 检查是否使用分块加密
+     * 数字签名需要在写出响应体之前基于完整的返回值生成，所以开启数字签名时不分块，元素数量不超过一块时也不分块
+     * @param body 值
+     * @param selectedConverterType Spring 选择的消息转换器
+     * @return 是否使用分块加密
+     */
+    private boolean checkIsChunkedWrite(Object body, Class<? extends HttpMessageConverter<?>> selectedConverterType) {
+        return secureApiPropertiesConfig.isChunkedResponseEnabled()
+                && !secureApiPropertiesConfig.isSignEnabled()
+                && secureApiPropertiesConfig.getChunkedResponseSize() > 0
+                && body instanceof Collection<?> collection
+                && collection.size() > secureApiPropertiesConfig.getChunkedResponseSize()
+                && AbstractJackson2HttpMessageConverter.class.isAssignableFrom(selectedConverterType);
+    }
+
     /**
      * 处理非法 json 字符串
      * @param s 非法 json 字符串
@@ -117,37 +263,50 @@ public class SecureApiResponseHandler implements ResponseBodyAdvice<Object> {
         return s.substring(0, s.lastIndexOf("\""));
     }
 
+    /**
+     * 处理非法 json 字节数组，去掉首尾的双引号
+     * @param bytes 非法 json 字节数组
+     * @return 合法 json 字节数组
+     */
+    private byte[] handleIllegelJsonBytes(byte[] bytes) {
+        if (bytes.length > 1 && bytes[0] == '"' && bytes[bytes.length - 1] == '"') {
+            return Arrays.copyOfRange(bytes, 1, bytes.length - 1);
+        }
+        return bytes;
+    }
+
     /**
      * 为数据生成数字签名
      * @param data 原始数据
      * @param response 响应
      */
-    private void signData(String data, ServerHttpResponse response) {
+    private void signData(byte[] data, ServerHttpResponse response) {
         if (secureApiPropertiesConfig.isSignEnabled()) {
             // 为数据生成数字签名
-            String sign = rsaSignatureUtils.sign(data.getBytes(StandardCharsets.UTF_8));
+            String sign = rsaSignatureUtils.sign(data);
             // 设置响应头
             response.getHeaders().add(HeaderConstant.X_SIGNATURE, sign);
         }
     }
 
     /**
-     * 处理加密，配置 responseBodyField 后只加密 data
-     * @param bodyJson 返回值 json 字符串
+     * 处理加密，配置 responseBodyField 后只加密 data，只加密 data 时不压缩
+     * @param bodyJsonBytes 返回值 json 字节数组
+     * @param response 响应，压缩时设置响应头
      * @return 密文
-     * @throws JsonProcessingException objectMapper转换异常
+     * @throws IOException objectMapper转换异常
      */
-    private String handleEncrypt(String bodyJson) throws JsonProcessingException {
+    private String handleEncrypt(byte[] bodyJsonBytes, ServerHttpResponse response) throws IOException {
         // 如果用户配置了 responseBodyField，那么只加密配置的字段
         String responseBodyDataField = secureApiPropertiesConfig.getResponseBodyDataField();
         if (responseBodyDataField != null) {
             // 反序列化
-            JsonNode jsonNode = secureApiObjectMapper.readTree(bodyJson);
+            JsonNode jsonNode = secureApiObjectMapper.readTree(bodyJsonBytes);
             if (jsonNode instanceof ObjectNode objectNode) {
                 JsonNode dataNode = objectNode.get(responseBodyDataField);
                 // data 为 null 直接返回
                 if (dataNode.isNull()) {
-                    return bodyJson;
+                    return new String(bodyJsonBytes, StandardCharsets.UTF_8);
                 }
                 String dataJsonString = secureApiObjectMapper.writeValueAsString(dataNode);
                 // 还是一样，一些数据类型经过 writeValueAsString 后要处理前后引号，数组等对象dataNode.asText()后是null，因为dataNode无法判断是否是日期，就只能用这种方案了
@@ -162,17 +321,44 @@ public class SecureApiResponseHandler implements ResponseBodyAdvice<Object> {
                 throw new SecureApiException(ErrorEnum.CLASS_LOAD_ERROR);
             }
         }
-        return CipherModeHandler.handleEncryptMode(bodyJson, secureApiPropertiesConfig);
+        // 明文达到阈值时先压缩再加密
+        if (CompressHandler.isCompress(bodyJsonBytes.length, secureApiPropertiesConfig)) {
+            bodyJsonBytes = CompressHandler.compress(bodyJsonBytes, response.getHeaders(), secureApiPropertiesConfig);
+        }
+        // Base64 结果只包含 ASCII 字符，使用 ISO_8859_1 构造 String 不需要再做编码转换
+        return new String(CipherModeHandler.handleEncryptMode(bodyJsonBytes, secureApiPropertiesConfig), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 处理流式加密的日志打印，流式加密不保留明文和密文
+     * @param returnType 返回值详细数据
+     */
+    private void printStreamLog(MethodParameter returnType) {
+        if (secureApiPropertiesConfig.isShowLog()) {
+            log.info("\n接口返回值流式加密\n方法：{}\n模式：{}\n加密算法：{}", returnType.getMethod(), secureApiPropertiesConfig.getMode(), CipherModeHandler.getDataCipherAlgorithm(secureApiPropertiesConfig));
+        }
+    }
+
+    /**
+     * 处理分块加密的日志打印，分块加密不保留明文和密文
+     * @param returnType 返回值详细数据
+     * @param chunkCount 块数
+     */
+    private void printChunkedLog(MethodParameter returnType, int chunkCount) {
+        if (secureApiPropertiesConfig.isShowLog()) {
+            log.info("\n接口返回值分块加密\n方法：{}\n模式：{}\n加密算法：{}\n每块元素数量：{}\n块数：{}", returnType.getMethod(), secureApiPropertiesConfig.getMode(), CipherModeHandler.getDataCipherAlgorithm(secureApiPropertiesConfig), secureApiPropertiesConfig.getChunkedResponseSize(), chunkCount);
+        }
     }
 
     /**
      * 处理日志打印
-     * @param bodyJson 原始数据
+     * @param bodyJsonBytes 原始数据
      * @param encrypt 密文
      * @param returnType 返回值详细数据
      */
-    private void printLog(String bodyJson, String encrypt, MethodParameter returnType) {
+    private void printLog(byte[] bodyJsonBytes, String encrypt, MethodParameter returnType) {
         if (secureApiPropertiesConfig.isShowLog()) {
+            String bodyJson = new String(bodyJsonBytes, StandardCharsets.UTF_8);
             if (SecureApiProperties.Mode.COMMON == secureApiPropertiesConfig.getMode()) {
                 log.info("\n接口返回值加密\n方法：{}\n模式：{}\n加密算法：{}\n加密前：{}\n加密后：{}", returnType.getMethod(), secureApiPropertiesConfig.getMode(), secureApiPropertiesConfig.getCipherAlgorithmEnum(), bodyJson, encrypt);
             } else {
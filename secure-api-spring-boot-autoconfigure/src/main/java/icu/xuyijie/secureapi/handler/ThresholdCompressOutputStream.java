@@ -0,0 +1,80 @@
+package icu.xuyijie.secureapi.handler;
+
+import icu.xuyijie.secureapi.cipher.enums.CompressAlgorithmEnum;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 22:35
+ * @description 流式加密时的压缩流，先缓存明文，达到阈值后才打开加密流并开始压缩，没有达到阈值时关闭流才原样写出
+ * 打开加密流之前必须决定是否压缩，因为需要在写出响应体之前设置 X-Secure-Api-Compress 响应头
+ */
+final class ThresholdCompressOutputStream extends OutputStream {
+    /**
+     * 打开明文写入的目标流
+     */
+    @FunctionalInterface
+    interface TargetOpener {
+        /**
+         * @param compress 是否压缩，压缩时需要设置响应头
+         * @return 明文写入的加密流
+         */
+        OutputStream open(boolean compress) throws IOException;
+    }
+
+    private final int threshold;
+    private final CompressAlgorithmEnum compressAlgorithm;
+    private final TargetOpener targetOpener;
+    private ByteArrayOutputStream pending;
+    private OutputStream target;
+
+    ThresholdCompressOutputStream(int threshold, CompressAlgorithmEnum compressAlgorithm, TargetOpener targetOpener) {
+        this.threshold = threshold;
+        this.compressAlgorithm = compressAlgorithm;
+        this.targetOpener = targetOpener;
+        this.pending = new ByteArrayOutputStream(Math.min(Math.max(threshold, 32), 8192));
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (target == null) {
+            if (pending.size() + len < threshold) {
+                pending.write(b, off, len);
+                return;
+            }
+            open(true);
+        }
+        target.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // 还没有决定是否压缩时不能写出任何内容
+        if (target != null) {
+            target.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (target == null) {
+            open(false);
+        }
+        target.close();
+    }
+
+    private void open(boolean compress) throws IOException {
+        OutputStream outputStream = targetOpener.open(compress);
+        target = compress ? compressAlgorithm.compress(outputStream) : outputStream;
+        pending.writeTo(target);
+        pending = null;
+    }
+}
@@ -0,0 +1,143 @@
+package icu.xuyijie.secureapi.handler;
+
+import icu.xuyijie.secureapi.exception.ErrorEnum;
+import icu.xuyijie.secureapi.exception.SecureApiException;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 14:32
+ * @description 读取时去除首尾空白和json值两边的双引号的流，和非流式解密时的处理完全一致，中间的字符原样返回
+ * 末尾连续的空白和双引号先暂存，后面还有其它字符时原样返回，读到末尾时才去除
+ */
+class TrimQuoteInputStream extends FilterInputStream {
+    /**
+     * 暂存的末尾连续空白和双引号
+     */
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private byte[] output = new byte[0];
+    private int outputIndex = 0;
+    private boolean started = false;
+    private boolean quoted = false;
+    private boolean eof = false;
+
+    TrimQuoteInputStream(InputStream in) {
+        // 逐字节判断是否需要去除，使用缓冲流减少对原始请求流的读取次数
+        super(new BufferedInputStream(in));
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (true) {
+            if (outputIndex < output.length) {
+                return output[outputIndex++] & 0xFF;
+            }
+            if (eof) {
+                return -1;
+            }
+            int b = nextByte();
+            if (b == -1) {
+                finish();
+            } else if (isTrim(b)) {
+                pending.write(b);
+            } else if (pending.size() > 0) {
+                // 不是末尾，暂存的字符原样返回
+                pending.write(b);
+                output = pending.toByteArray();
+                outputIndex = 0;
+                pending.reset();
+            } else {
+                return b;
+            }
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int length = 0;
+        while (length < len) {
+            // 已经读到数据时不再阻塞等待
+            if (length > 0 && outputIndex >= output.length && !eof && in.available() <= 0) {
+                break;
+            }
+            int c = read();
+            if (c == -1) {
+                break;
+            }
+            b[off + length++] = (byte) c;
+        }
+        return length == 0 ? -1 : length;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long remaining = n;
+        while (remaining > 0 && read() != -1) {
+            remaining--;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public int available() {
+        return output.length - outputIndex;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * 读取下一个字节，第一次读取时跳过开头的空白和一个双引号
+     */
+    private int nextByte() throws IOException {
+        int b = in.read();
+        if (!started) {
+            started = true;
+            while (b != -1 && Character.isWhitespace(b)) {
+                b = in.read();
+            }
+            if (b == '"') {
+                quoted = true;
+                b = in.read();
+            }
+        }
+        return b;
+    }
+
+    /**
+     * 读到末尾，去除暂存的末尾空白，开头有双引号时去除末尾的一个双引号
+     */
+    private void finish() {
+        eof = true;
+        byte[] tail = pending.toByteArray();
+        int end = tail.length;
+        while (end > 0 && Character.isWhitespace(tail[end - 1])) {
+            end--;
+        }
+        if (quoted) {
+            if (end == 0 || tail[end - 1] != '"') {
+                // 只有开头的双引号，非流式解密时不会去除，密文不完整
+                throw new SecureApiException(ErrorEnum.DECRYPT_ERROR);
+            }
+            end--;
+        }
+        output = Arrays.copyOf(tail, end);
+        outputIndex = 0;
+        pending.reset();
+    }
+
+    private boolean isTrim(int b) {
+        return b == '"' || Character.isWhitespace(b);
+    }
+}
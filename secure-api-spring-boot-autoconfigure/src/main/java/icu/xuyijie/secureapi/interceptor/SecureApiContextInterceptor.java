@@ -0,0 +1,33 @@
+package icu.xuyijie.secureapi.interceptor;
+
+import icu.xuyijie.secureapi.model.SecureApiContext;
+import icu.xuyijie.secureapi.threadlocal.SecureApiThreadLocal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 15:52
+ * @description 管理每个请求的加解密上下文，请求开始时清除线程上残留的上下文，请求结束后清除本次请求的上下文
+ * 需要最先执行，这样其它拦截器中设置的上下文不会被清除
+ */
+@Component
+public class SecureApiContextInterceptor implements HandlerInterceptor {
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws Exception {
+        SecureApiThreadLocal.clearSecureApiContext();
+        // 记录请求方法和路径，AEAD 算法的附加认证数据需要使用，放在上下文中业务线程池里也能获取
+        SecureApiContext secureApiContext = SecureApiThreadLocal.getSecureApiContext();
+        secureApiContext.setRequestMethod(request.getMethod());
+        secureApiContext.setRequestUri(request.getRequestURI());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) throws Exception {
+        SecureApiThreadLocal.clearSecureApiContext();
+    }
+}
@@ -0,0 +1,110 @@
+package icu.xuyijie.secureapi.model;
+
+import icu.xuyijie.secureapi.cipher.enums.CipherAlgorithmEnum;
+
+/**
+ * @author 徐一杰
+ * @date 2026/10/18 15:40
+ * @description 单次请求的加解密上下文，通过 SecureApiThreadLocal 获取，请求结束后自动清除
+ * 会话密钥模式下每个请求的密钥都不同，设置在这里而不是修改全局的 SecureApiPropertiesConfig，并发请求之间不会互相覆盖
+ */
+public class SecureApiContext {
+    /**
+     * 本次请求的对称加密key，会话密钥模式下是前端传入的RSA公钥加密后的会话密钥，为空时使用全局配置
+     */
+    private String key;
+
+    /**
+     * 本次请求的偏移量，为空时使用全局配置
+     */
+    private String iv;
+
+    /**
+     * 本次请求加解密数据使用的算法，为空时使用全局配置
+     */
+    private CipherAlgorithmEnum cipherAlgorithm;
+
+    /**
+     * 解密后的会话密钥，每个请求只解密一次
+     */
+    private volatile String sessionKey;
+
+    /**
+     * 本次请求的方法，如 POST，AEAD 算法开启 aeadAadEnabled 时作为附加认证数据
+     */
+    private String requestMethod;
+
+    /**
+     * 本次请求的路径，包含 context-path，AEAD 算法开启 aeadAadEnabled 时作为附加认证数据
+     */
+    private String requestUri;
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+        // key 变化后需要重新解密会话密钥
+        this.sessionKey = null;
+    }
+
+    public String getIv() {
+        return iv;
+    }
+
+    public void setIv(String iv) {
+        this.iv = iv;
+    }
+
+    public CipherAlgorithmEnum getCipherAlgorithm() {
+        return cipherAlgorithm;
+    }
+
+    public void setCipherAlgorithm(CipherAlgorithmEnum cipherAlgorithm) {
+        this.cipherAlgorithm = cipherAlgorithm;
+    }
+
+    public String getSessionKey() {
+        return sessionKey;
+    }
+
+    public void setSessionKey(String sessionKey) {
+        this.sessionKey = sessionKey;
+    }
+
+    public String getRequestMethod() {
+        return requestMethod;
+    }
+
+    public void setRequestMethod(String requestMethod) {
+        this.requestMethod = requestMethod;
+    }
+
+    public String getRequestUri() {
+        return requestUri;
+    }
+
+    public void setRequestUri(String requestUri) {
+        this.requestUri = requestUri;
+    }
+
+    /**
+     * key、iv 和会话密钥是本次请求的密钥信息，只显示是否设置，避免被日志或异常信息输出
+     */
+    @Override
+    public String toString() {
+        return "SecureApiContext{" +
+                "key=" + mask(key) +
+                ", iv=" + mask(iv) +
+                ", sessionKey=" + mask(sessionKey) +
+                ", cipherAlgorithm=" + cipherAlgorithm +
+                ", requestMethod='" + requestMethod + '\'' +
+                ", requestUri='" + requestUri + '\'' +
+                '}';
+    }
+
+    private static String mask(String value) {
+        return value == null ? "null" : "******";
+    }
+}
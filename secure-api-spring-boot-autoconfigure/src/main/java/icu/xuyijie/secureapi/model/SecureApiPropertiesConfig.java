@@ -1,6 +1,10 @@
 package icu.xuyijie.secureapi.model;
 
 import icu.xuyijie.secureapi.cipher.enums.CipherAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.enums.CompressAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.enums.SignatureAlgorithmEnum;
+import icu.xuyijie.secureapi.cipher.utils.KeyCache;
+import icu.xuyijie.secureapi.cipher.utils.SessionKeyCache;
 
 /**
  * @author 徐一杰
@@ -78,6 +82,91 @@ public class SecureApiPropertiesConfig {
      */
     private String responseBodyDataField;
 
+    /**
+     * 是否开启流式加解密，开启后请求体边读取边解密，返回值直接序列化到加密流中，大报文时内存占用不随报文大小增长，开启数字签名时请求体需要先校验签名再解密，不使用流式解密
+     */
+    private boolean streamingEnabled = false;
+
+    /**
+     * 会话密钥模式下，解密后的会话密钥最多缓存的数量，0表示不缓存
+     */
+    private int sessionKeyCacheSize = 1024;
+
+    /**
+     * 会话密钥模式下，解密后的会话密钥缓存的过期时间，单位秒
+     */
+    private long sessionKeyCacheExpireSeconds = 1800;
+
+    /**
+     * 实体类参数（param/formData）字段数量达到该值时才使用线程池并行解密绑定字段，字段较少时线程切换开销远大于解密本身，默认在当前线程内逐个处理，小于等于0表示始终在当前线程处理
+     */
+    private int parallelBindThreshold = 64;
+
+    /**
+     * AEAD 算法是否把请求方法和路径（如 POST /user/add）作为附加认证数据，开启后密文不能被挪用到其它接口
+     */
+    private boolean aeadAadEnabled = false;
+
+    /**
+     * 加密算法为RSA时是否使用信封模式，每条消息随机生成数据密钥，数据使用 rsaEnvelopeCipherAlgorithm 加密，RSA只加密数据密钥，适合数据量较大的接口
+     */
+    private boolean rsaEnvelopeEnabled = false;
+
+    /**
+     * RSA信封模式中加密数据使用的算法，必须是AEAD算法
+     */
+    private CipherAlgorithmEnum rsaEnvelopeCipherAlgorithm = CipherAlgorithmEnum.AES_GCM_NO_PADDING;
+
+    /**
+     * RSA分段加解密的分段数量达到多少时使用多线程并行处理，密文格式不变，小于等于0表示不并行
+     */
+    private int rsaParallelBlockThreshold = 16;
+
+    /**
+     * 数字签名算法，SHA256_WITH_RSA 比 SHA512_WITH_RSA 更快，RSASSA_PSS 更安全，ED25519、ECDSA_P256 比 RSA 快很多，HMAC_SHA256 使用共享密钥（公钥和私钥配置为同一个 base64 密钥）
+     */
+    private SignatureAlgorithmEnum signAlgorithm = SignatureAlgorithmEnum.SHA512_WITH_RSA;
+
+    /**
+     * 数字签名是否基于密文（先加密后签名），开启后请求在解密前校验签名，伪造的请求不会执行解密，签名数据为去掉首尾双引号和空白后的 Base64 密文
+     */
+    private boolean signCiphertextEnabled = false;
+
+    /**
+     * 是否开启二进制传输，开启后 Content-Type 或 Accept 为 application/x-secure-api 的请求和返回值直接传输原始密文，不做Base64编码，其他请求仍然使用Base64
+     */
+    private boolean binaryTransportEnabled = false;
+
+    /**
+     * 是否开启加密前压缩，请求体和响应体达到 compressThreshold 时先压缩再加密，并通过 X-Secure-Api-Compress 头告知对方，不能和 NO_PADDING 算法同时使用
+     */
+    private boolean compressEnabled = false;
+
+    /**
+     * 压缩算法，GZIP、DEFLATE 由 JDK 提供，ZSTD、LZ4 需要自行引入依赖
+     */
+    private CompressAlgorithmEnum compressAlgorithm = CompressAlgorithmEnum.GZIP;
+
+    /**
+     * 明文达到多少字节时压缩，小数据压缩后反而可能变大
+     */
+    private int compressThreshold = 1024;
+
+    /**
+     * 是否开启分块加密响应，返回值是集合且元素数量超过 chunkedResponseSize 时，每 chunkedResponseSize 个元素加密为一块并立即写出，开启数字签名时不生效
+     */
+    private boolean chunkedResponseEnabled = false;
+
+    /**
+     * 分块加密响应每块包含的元素数量
+     */
+    private int chunkedResponseSize = 100;
+
+    /**
+     * 解压后明文的最大字节数，防止压缩炸弹，请求体解压后超过此大小时拒绝请求，默认 10MB
+     */
+    private int decompressMaxSize = 10485760;
+
     /**
      * 加密url配置
      */
@@ -174,6 +263,7 @@ public class SecureApiPropertiesConfig {
     }
 
     public void setPublicKey(String publicKey) {
+        invalidateKeyCache(this.publicKey, publicKey);
         this.publicKey = publicKey;
     }
 
@@ -182,6 +272,11 @@ public class SecureApiPropertiesConfig {
     }
 
     public void setPrivateKey(String privateKey) {
+        if (this.privateKey != null && !this.privateKey.equals(privateKey)) {
+            // 旧私钥解密的会话密钥缓存也要清除
+            SessionKeyCache.clear();
+        }
+        invalidateKeyCache(this.privateKey, privateKey);
         this.privateKey = privateKey;
     }
 
@@ -190,6 +285,7 @@ public class SecureApiPropertiesConfig {
     }
 
     public void setSignPublicKey(String signPublicKey) {
+        invalidateKeyCache(this.signPublicKey, signPublicKey);
         this.signPublicKey = signPublicKey;
     }
 
@@ -198,6 +294,7 @@ public class SecureApiPropertiesConfig {
     }
 
     public void setSignPrivateKey(String signPrivateKey) {
+        invalidateKeyCache(this.signPrivateKey, signPrivateKey);
         this.signPrivateKey = signPrivateKey;
     }
 
@@ -209,6 +306,142 @@ public class SecureApiPropertiesConfig {
         this.responseBodyDataField = responseBodyDataField;
     }
 
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    public void setStreamingEnabled(boolean streamingEnabled) {
+        this.streamingEnabled = streamingEnabled;
+    }
+
+    public int getSessionKeyCacheSize() {
+        return sessionKeyCacheSize;
+    }
+
+    public void setSessionKeyCacheSize(int sessionKeyCacheSize) {
+        this.sessionKeyCacheSize = sessionKeyCacheSize;
+    }
+
+    public long getSessionKeyCacheExpireSeconds() {
+        return sessionKeyCacheExpireSeconds;
+    }
+
+    public void setSessionKeyCacheExpireSeconds(long sessionKeyCacheExpireSeconds) {
+        this.sessionKeyCacheExpireSeconds = sessionKeyCacheExpireSeconds;
+    }
+
+    public int getParallelBindThreshold() {
+        return parallelBindThreshold;
+    }
+
+    public void setParallelBindThreshold(int parallelBindThreshold) {
+        this.parallelBindThreshold = parallelBindThreshold;
+    }
+
+    public boolean isAeadAadEnabled() {
+        return aeadAadEnabled;
+    }
+
+    public void setAeadAadEnabled(boolean aeadAadEnabled) {
+        this.aeadAadEnabled = aeadAadEnabled;
+    }
+
+    public boolean isRsaEnvelopeEnabled() {
+        return rsaEnvelopeEnabled;
+    }
+
+    public void setRsaEnvelopeEnabled(boolean rsaEnvelopeEnabled) {
+        this.rsaEnvelopeEnabled = rsaEnvelopeEnabled;
+    }
+
+    public CipherAlgorithmEnum getRsaEnvelopeCipherAlgorithm() {
+        return rsaEnvelopeCipherAlgorithm;
+    }
+
+    public void setRsaEnvelopeCipherAlgorithm(CipherAlgorithmEnum rsaEnvelopeCipherAlgorithm) {
+        this.rsaEnvelopeCipherAlgorithm = rsaEnvelopeCipherAlgorithm;
+    }
+
+    public int getRsaParallelBlockThreshold() {
+        return rsaParallelBlockThreshold;
+    }
+
+    public void setRsaParallelBlockThreshold(int rsaParallelBlockThreshold) {
+        this.rsaParallelBlockThreshold = rsaParallelBlockThreshold;
+    }
+
+    public SignatureAlgorithmEnum getSignAlgorithm() {
+        return signAlgorithm;
+    }
+
+    public void setSignAlgorithm(SignatureAlgorithmEnum signAlgorithm) {
+        this.signAlgorithm = signAlgorithm;
+    }
+
+    public boolean isSignCiphertextEnabled() {
+        return signCiphertextEnabled;
+    }
+
+    public void setSignCiphertextEnabled(boolean signCiphertextEnabled) {
+        this.signCiphertextEnabled = signCiphertextEnabled;
+    }
+
+    public boolean isBinaryTransportEnabled() {
+        return binaryTransportEnabled;
+    }
+
+    public void setBinaryTransportEnabled(boolean binaryTransportEnabled) {
+        this.binaryTransportEnabled = binaryTransportEnabled;
+    }
+
+    public boolean isCompressEnabled() {
+        return compressEnabled;
+    }
+
+    public void setCompressEnabled(boolean compressEnabled) {
+        this.compressEnabled = compressEnabled;
+    }
+
+    public CompressAlgorithmEnum getCompressAlgorithm() {
+        return compressAlgorithm;
+    }
+
+    public void setCompressAlgorithm(CompressAlgorithmEnum compressAlgorithm) {
+        this.compressAlgorithm = compressAlgorithm;
+    }
+
+    public int getCompressThreshold() {
+        return compressThreshold;
+    }
+
+    public void setCompressThreshold(int compressThreshold) {
+        this.compressThreshold = compressThreshold;
+    }
+
+    public boolean isChunkedResponseEnabled() {
+        return chunkedResponseEnabled;
+    }
+
+    public void setChunkedResponseEnabled(boolean chunkedResponseEnabled) {
+        this.chunkedResponseEnabled = chunkedResponseEnabled;
+    }
+
+    public int getChunkedResponseSize() {
+        return chunkedResponseSize;
+    }
+
+    public void setChunkedResponseSize(int chunkedResponseSize) {
+        this.chunkedResponseSize = chunkedResponseSize;
+    }
+
+    public int getDecompressMaxSize() {
+        return decompressMaxSize;
+    }
+
+    public void setDecompressMaxSize(int decompressMaxSize) {
+        this.decompressMaxSize = decompressMaxSize;
+    }
+
     public SecureApiProperties.UrlPattern getEncryptUrl() {
         return encryptUrl;
     }
@@ -257,6 +490,18 @@ public class SecureApiPropertiesConfig {
         this.localTimeFormat = localTimeFormat;
     }
 
+    /**
+     * 密钥发生变更时，移除旧密钥已解析的缓存
+     *
+     * @param oldKey 旧密钥
+     * @param newKey 新密钥
+     */
+    private void invalidateKeyCache(String oldKey, String newKey) {
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            KeyCache.invalidate(oldKey);
+        }
+    }
+
     @Override
     public String toString() {
         return "SecureApiPropertiesConfig{" +
@@ -273,6 +518,23 @@ public class SecureApiPropertiesConfig {
                 ", privateKey='" + privateKey + '\'' +
                 ", signPublicKey='" + signPublicKey + '\'' +
                 ", signPrivateKey='" + signPrivateKey + '\'' +
+                ", streamingEnabled=" + streamingEnabled +
+                ", sessionKeyCacheSize=" + sessionKeyCacheSize +
+                ", sessionKeyCacheExpireSeconds=" + sessionKeyCacheExpireSeconds +
+                ", parallelBindThreshold=" + parallelBindThreshold +
+                ", aeadAadEnabled=" + aeadAadEnabled +
+                ", rsaEnvelopeEnabled=" + rsaEnvelopeEnabled +
+                ", rsaEnvelopeCipherAlgorithm=" + rsaEnvelopeCipherAlgorithm +
+                ", rsaParallelBlockThreshold=" + rsaParallelBlockThreshold +
+                ", signAlgorithm=" + signAlgorithm +
+                ", signCiphertextEnabled=" + signCiphertextEnabled +
+                ", binaryTransportEnabled=" + binaryTransportEnabled +
+                ", compressEnabled=" + compressEnabled +
+                ", compressAlgorithm=" + compressAlgorithm +
+                ", compressThreshold=" + compressThreshold +
+                ", chunkedResponseEnabled=" + chunkedResponseEnabled +
+                ", chunkedResponseSize=" + chunkedResponseSize +
+                ", decompressMaxSize=" + decompressMaxSize +
                 ", encryptUrl=" + encryptUrl +
                 ", decryptUrl=" + decryptUrl +
                 ", dateFormat='" + dateFormat + '\'' +
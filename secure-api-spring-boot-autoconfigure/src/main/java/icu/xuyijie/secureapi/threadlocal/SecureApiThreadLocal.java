@@ -1,5 +1,7 @@
 package icu.xuyijie.secureapi.threadlocal;
 
+import icu.xuyijie.secureapi.model.SecureApiContext;
+
 /**
  * @author 徐一杰
  * @date 2024/6/21 15:25
@@ -12,6 +14,7 @@ public class SecureApiThreadLocal {
 
     private static final ThreadLocal<Boolean> IS_ENCRYPT_API = ThreadLocal.withInitial(() -> false);
     private static final ThreadLocal<Boolean> IS_DECRYPT_API = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<SecureApiContext> SECURE_API_CONTEXT = new ThreadLocal<>();
 
     /**
      * 设置 IS_ENCRYPT_API 的值
@@ -59,4 +62,32 @@ public class SecureApiThreadLocal {
         IS_DECRYPT_API.remove();
     }
 
+    /**
+     * 获取本次请求的加解密上下文，不存在时创建
+     */
+    public static SecureApiContext getSecureApiContext() {
+        SecureApiContext secureApiContext = SECURE_API_CONTEXT.get();
+        if (secureApiContext == null) {
+            secureApiContext = new SecureApiContext();
+            SECURE_API_CONTEXT.set(secureApiContext);
+        }
+        return secureApiContext;
+    }
+
+    /**
+     * 设置 SECURE_API_CONTEXT 的值
+     *
+     * @param secureApiContext 加解密上下文
+     */
+    public static void setSecureApiContext(SecureApiContext secureApiContext) {
+        SECURE_API_CONTEXT.set(secureApiContext);
+    }
+
+    /**
+     * 清除 SECURE_API_CONTEXT 的值
+     */
+    public static void clearSecureApiContext() {
+        SECURE_API_CONTEXT.remove();
+    }
+
 }
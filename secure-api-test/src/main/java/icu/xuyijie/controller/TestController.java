@@ -73,4 +73,17 @@ public class TestController {
         }
         return ResultEntity.success("成功", userList2);
     }
+
+    @RequestMapping("/testChunked")
+    @EncryptApi
+    public List<User> testChunked(@RequestParam(defaultValue = "1000") Integer count) {
+        List<User> userList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setCreateTime(LocalDateTime.now());
+            userList.add(user);
+        }
+        return userList;
+    }
 }
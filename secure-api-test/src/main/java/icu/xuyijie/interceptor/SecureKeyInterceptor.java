@@ -1,7 +1,9 @@
 package icu.xuyijie.interceptor;
 
+import icu.xuyijie.secureapi.model.SecureApiContext;
 import icu.xuyijie.secureapi.model.SecureApiProperties;
 import icu.xuyijie.secureapi.model.SecureApiPropertiesConfig;
+import icu.xuyijie.secureapi.threadlocal.SecureApiThreadLocal;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
@@ -26,14 +28,15 @@ public class SecureKeyInterceptor implements HandlerInterceptor {
 
     @Override
     public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
-        // 这里可以使用会话密钥，只需要在拦截器中修改secureApiPropertiesConfig的key值
+        // 这里可以使用会话密钥，只需要在拦截器中设置本次请求上下文的key值，不要修改全局的secureApiPropertiesConfig
         if (secureApiPropertiesConfig.getMode().equals(SecureApiProperties.Mode.SESSION_KEY)) {
             String sessionKey = request.getHeader("sessionKey");
             String sessionIv = request.getHeader("sessionIv");
             log.info("前端传来会话密钥：{}", sessionKey);
             log.info("前端传来会话iv：{}", sessionIv);
-            secureApiPropertiesConfig.setKey(sessionKey);
-            secureApiPropertiesConfig.setIv(sessionIv);
+            SecureApiContext secureApiContext = SecureApiThreadLocal.getSecureApiContext();
+            secureApiContext.setKey(sessionKey);
+            secureApiContext.setIv(sessionIv);
         }
         return true;
     }